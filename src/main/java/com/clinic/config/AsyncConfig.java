@@ -1,26 +1,92 @@
 package com.clinic.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    static final String QUEUED_METRIC = "clinic.async.queued";
+    static final String IN_FLIGHT_METRIC = "clinic.async.in_flight";
+    static final String REJECTED_METRIC = "clinic.async.rejected";
+
+    /**
+     * VIRTUAL suits the blocking I/O done by {@code @Async} senders; POOLED keeps the original
+     * fixed platform pool.
+     */
+    public enum Mode {
+        VIRTUAL,
+        POOLED
+    }
+
+    // Resolved lazily: async configurers are created before the metrics registry
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.async.mode:VIRTUAL}")
+    private Mode mode = Mode.VIRTUAL;
+
+    @Value("${app.async.max-concurrency:200}")
+    private int maxConcurrency = 200;
+
+    @Value("${app.async.max-queued:10000}")
+    private int maxQueued = 10_000;
+
+    private Executor asyncExecutor;
+
+    public AsyncConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The executor behind {@code @Async}, also used directly by services that fan work out
+     * themselves. Created once, so there is a single concurrency bound and set of gauges.
+     */
     @Override
-    public Executor getAsyncExecutor() {
+    public synchronized Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = createAsyncExecutor();
+        }
+        return asyncExecutor;
+    }
+
+    private Executor createAsyncExecutor() {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        if (mode == Mode.VIRTUAL) {
+            return new BoundedVirtualThreadExecutor("clinic-async-", maxConcurrency, maxQueued,
+                    registry);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(25);
         executor.setThreadNamePrefix("clinic-async-");
+        Counter rejected = Counter.builder(REJECTED_METRIC).tag("mode", "pooled").register(registry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
         executor.initialize();
+        Gauge.builder(QUEUED_METRIC, executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("mode", "pooled")
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_METRIC, executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("mode", "pooled")
+                .register(registry);
         return executor;
     }
 
@@ -0,0 +1,83 @@
+package com.clinic.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts every task on its own virtual thread and lets at most {@code maxConcurrency} of
+ * them run at once. Tasks over the limit park on a semaphore instead of sitting in a
+ * bounded queue, so a burst of blocking sends costs a few hundred bytes per waiting task
+ * rather than a rejected booking. {@code maxQueued} only guards against runaway growth.
+ *
+ * <p>Unlike {@code SimpleAsyncTaskExecutor}'s concurrency limit, the caller never blocks:
+ * waiting happens on the task's own thread.
+ */
+public class BoundedVirtualThreadExecutor implements TaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency,
+                                        int maxQueued, MeterRegistry meterRegistry) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxQueued = maxQueued;
+        Gauge.builder(AsyncConfig.QUEUED_METRIC, queued, AtomicInteger::get)
+                .tag("mode", "virtual")
+                .register(meterRegistry);
+        Gauge.builder(AsyncConfig.IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                .tag("mode", "virtual")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(AsyncConfig.REJECTED_METRIC)
+                .tag("mode", "virtual")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new TaskRejectedException("Async executor has " + maxQueued
+                    + " tasks waiting; rejecting " + task);
+        }
+        threadFactory.newThread(() -> run(task)).start();
+    }
+
+    private void run(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
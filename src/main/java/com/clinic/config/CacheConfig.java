@@ -1,26 +1,49 @@
 package com.clinic.config;
 
+import com.clinic.service.DoctorService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Caches behind {@code @Cacheable}, each with its own policy from {@code app.cache.policies}.
+ * {@code doctors} is a loading cache: a miss is loaded through {@link DoctorService#reload}, and
+ * once an entry is older than its {@code refresh-after-write} the next read still returns it
+ * while a reload runs in the background, so directory reads never wait on the database.
+ */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePolicyProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(CachePolicyProperties properties, ObjectProvider<DoctorService> doctorService) {
+        // Resolved per load, the service is itself proxied by this cache manager
+        return cacheManager(properties, key -> doctorService.getObject().reload(key),
+                ForkJoinPool.commonPool(), Ticker.systemTicker());
+    }
+
+    static CaffeineCacheManager cacheManager(CachePolicyProperties properties, CacheLoader<Object, Object> doctorLoader,
+                                             Executor refreshExecutor, Ticker ticker) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .initialCapacity(50)
-                .maximumSize(500)
-                .expireAfterWrite(Duration.ofMinutes(10))
-                .recordStats());
+        // No dynamic caches: an unknown name fails instead of silently getting an unbounded default
+        cacheManager.setCacheNames(List.of());
+        // Registered up front so the cache exists, and is bound to metrics, at startup
+        cacheManager.registerCustomCache("doctors", properties.policy("doctors").newBuilder()
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .build(doctorLoader));
         return cacheManager;
     }
 }
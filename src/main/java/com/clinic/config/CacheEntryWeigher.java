@@ -0,0 +1,111 @@
+package com.clinic.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Weighs cache entries by their estimated retained size in bytes, so a cache's
+ * {@code maximumWeight} is a memory budget rather than an entry count. The estimate walks
+ * the records, collections and strings the services cache (response DTOs) and assumes a
+ * 64-bit JVM with compressed references; it is meant to be within a small factor of the
+ * real footprint, not exact.
+ */
+public final class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    public static final CacheEntryWeigher INSTANCE = new CacheEntryWeigher();
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    // Response DTOs nest a few levels at most; anything deeper is weighed as an opaque object
+    private static final int MAX_DEPTH = 8;
+    private static final int OPAQUE_OBJECT = 64;
+
+    private static final ClassValue<Method[]> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            Method[] accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
+                accessors[i].trySetAccessible();
+            }
+            return accessors;
+        }
+    };
+
+    private CacheEntryWeigher() {
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, estimate(key) + estimate(value));
+    }
+
+    public static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null || value instanceof Enum<?> || value instanceof Boolean) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            // String object plus its backing array; Latin-1 text uses one byte per char
+            return OBJECT_HEADER + 8 + OBJECT_HEADER + (long) text.length() * (isLatin1(text) ? 1 : 2);
+        }
+        if (value instanceof Number || value instanceof Character) {
+            return 24;
+        }
+        if (value instanceof Temporal) {
+            return 48;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OPAQUE_OBJECT;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 16 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += estimate(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_HEADER + 32 + (long) map.size() * (OBJECT_HEADER + 4 * REFERENCE);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (value.getClass().isRecord()) {
+            Method[] accessors = ACCESSORS.get(value.getClass());
+            long size = OBJECT_HEADER + (long) accessors.length * 8;
+            for (Method accessor : accessors) {
+                size += estimate(component(value, accessor), depth + 1);
+            }
+            return size;
+        }
+        return OPAQUE_OBJECT;
+    }
+
+    private static Object component(Object record, Method accessor) {
+        try {
+            return accessor.invoke(record);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    private static boolean isLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.clinic.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Binds Caffeine caches that are owned directly by a component rather than by the Spring
+ * {@code CacheManager}. Prometheus drops meters whose tag keys differ from an existing meter
+ * of the same name, so these carry the same keys Boot puts on the managed caches.
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+    }
+
+    public static void monitor(MeterRegistry registry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name, "cache.manager", "none", "name", name);
+    }
+}
@@ -0,0 +1,61 @@
+package com.clinic.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Caffeine policy per cache name ({@code app.cache.policies.<name>}).
+ */
+@ConfigurationProperties("app.cache")
+public record CachePolicyProperties(Map<String, Policy> policies) {
+
+    public CachePolicyProperties {
+        policies = policies == null ? Map.of() : Map.copyOf(policies);
+    }
+
+    public Policy policy(String cacheName) {
+        Policy policy = policies.get(cacheName);
+        if (policy == null) {
+            throw new IllegalStateException("Missing cache policy app.cache.policies." + cacheName);
+        }
+        return policy;
+    }
+
+    /**
+     * @param maximumWeight     budget for the estimated size of all keys and values, see
+     *                          {@link CacheEntryWeigher}
+     * @param expireAfterWrite  entries are dropped this long after they were loaded
+     * @param refreshAfterWrite the first read of an entry older than this still gets the cached
+     *                          value and triggers a background reload; unset disables refresh.
+     *                          Needs a loader, so only caches built with one may set it
+     */
+    public record Policy(
+            @DefaultValue("1MB") DataSize maximumWeight,
+            @DefaultValue("10m") Duration expireAfterWrite,
+            Duration refreshAfterWrite) {
+
+        public Policy {
+            if (refreshAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+                throw new IllegalArgumentException("refreshAfterWrite (" + refreshAfterWrite
+                        + ") must be shorter than expireAfterWrite (" + expireAfterWrite + ")");
+            }
+        }
+
+        public Caffeine<Object, Object> newBuilder() {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumWeight(maximumWeight.toBytes())
+                    .weigher(CacheEntryWeigher.INSTANCE)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats();
+            if (refreshAfterWrite != null) {
+                builder.refreshAfterWrite(refreshAfterWrite);
+            }
+            return builder;
+        }
+    }
+}
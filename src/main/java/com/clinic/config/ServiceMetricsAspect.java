@@ -0,0 +1,90 @@
+package com.clinic.config;
+
+import com.clinic.exception.AppointmentConflictException;
+import com.clinic.exception.DuplicateResourceException;
+import com.clinic.exception.ResourceNotFoundException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the public methods of the booking and patient services and JWT issuing and parsing
+ * as {@code clinic.service.calls}, tagged by service, method and outcome. Each timer
+ * publishes p50/p95/p99 computed in-process from an HdrHistogram, plus histogram buckets so
+ * quantiles can also be aggregated across instances.
+ *
+ * <p>Runs outside the transaction advice, so time spent committing, and conflicts that only
+ * surface at commit, are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "clinic.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.clinic.service.AppointmentService.*(..))"
+            + " || execution(public * com.clinic.service.PatientService.*(..))"
+            + " || execution(public * com.clinic.security.JwtService.generateToken(..))"
+            + " || execution(public * com.clinic.security.JwtService.parseClaims(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = outcomeOf(ex);
+            throw ex;
+        } finally {
+            timer(joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcomeOf(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (ex instanceof AppointmentConflictException || ex instanceof DuplicateResourceException
+                || ex instanceof DataIntegrityViolationException
+                || ex instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (ex instanceof JwtException) {
+            return "invalid";
+        }
+        return "error";
+    }
+
+    private Timer timer(String service, String method, String outcome) {
+        return timers.computeIfAbsent(service + '.' + method + ':' + outcome,
+                key -> Timer.builder(METRIC)
+                        .description("Service call latency")
+                        .tag("service", service)
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
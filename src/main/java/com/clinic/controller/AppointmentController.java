@@ -2,7 +2,9 @@ package com.clinic.controller;
 
 import com.clinic.dto.request.AppointmentRequest;
 import com.clinic.dto.request.AppointmentUpdateRequest;
+import com.clinic.dto.request.BulkAppointmentRequest;
 import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResponse;
 import com.clinic.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -41,6 +43,16 @@ public class AppointmentController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Schedule a batch of appointments",
+            description = "Each item is checked independently; the response reports per-item results")
+    @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results")
+    @ApiResponse(responseCode = "400", description = "Validation error in the batch")
+    public ResponseEntity<BulkAppointmentResponse> scheduleAppointments(
+            @Valid @RequestBody BulkAppointmentRequest request) {
+        return ResponseEntity.ok(appointmentService.scheduleAppointments(request.appointments()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get appointment by ID")
     public ResponseEntity<AppointmentResponse> getAppointment(@PathVariable Long id) {
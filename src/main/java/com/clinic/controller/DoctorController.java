@@ -1,11 +1,17 @@
 package com.clinic.controller;
 
+import com.clinic.dto.response.DoctorAvailabilityResponse;
 import com.clinic.dto.response.DoctorResponse;
+import com.clinic.dto.response.SlotOptionResponse;
 import com.clinic.entity.enums.Specialty;
+import com.clinic.service.DoctorAvailabilityService;
 import com.clinic.service.DoctorService;
+import com.clinic.service.SlotSearchService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,6 +30,8 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final DoctorAvailabilityService availabilityService;
+    private final SlotSearchService slotSearchService;
 
     @GetMapping
     @Operation(summary = "Get all doctors")
@@ -35,6 +45,16 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getDoctorById(id));
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get a doctor's free appointment slots for a day")
+    @ApiResponse(responseCode = "200", description = "Free slots returned")
+    @ApiResponse(responseCode = "404", description = "Doctor not found")
+    public ResponseEntity<DoctorAvailabilityResponse> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(availabilityService.getAvailability(id, date));
+    }
+
     @GetMapping("/specialty/{specialty}")
     @Operation(summary = "Get doctors by specialty")
     public ResponseEntity<List<DoctorResponse>> getDoctorsBySpecialty(
@@ -42,6 +62,17 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getDoctorsBySpecialty(specialty));
     }
 
+    @GetMapping("/specialty/{specialty}/earliest-slots")
+    @Operation(summary = "Find the earliest free slots across all doctors of a specialty")
+    public ResponseEntity<List<SlotOptionResponse>> getEarliestSlots(
+            @PathVariable Specialty specialty,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "5") int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return ResponseEntity.ok(slotSearchService.findEarliestSlots(specialty, start, limit));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search doctors by name")
     public ResponseEntity<List<DoctorResponse>> searchDoctors(@RequestParam String name) {
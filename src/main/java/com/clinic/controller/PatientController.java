@@ -1,10 +1,15 @@
 package com.clinic.controller;
 
 import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.CursorPagedResponse;
 import com.clinic.dto.response.PagedResponse;
+import com.clinic.dto.response.PatientImportResponse;
 import com.clinic.dto.response.PatientResponse;
 import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.service.PatientImportService;
 import com.clinic.service.PatientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +18,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,7 +29,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 
 @RestController
@@ -31,7 +44,12 @@ import java.net.URI;
 @Tag(name = "Patients", description = "Patient registration and management")
 public class PatientController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Register a new patient")
@@ -45,6 +63,17 @@ public class PatientController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Bulk import patients from CSV",
+            description = "Header row must name the columns: fullNameEn, fullNameAr, email, "
+                    + "mobileNumber, dateOfBirth (yyyy-MM-dd), nationalId, street, city, region. "
+                    + "Valid rows are imported; rejected rows are reported by line number.")
+    @ApiResponse(responseCode = "200", description = "Import processed, see per-row errors")
+    @ApiResponse(responseCode = "400", description = "Missing or malformed header row")
+    public ResponseEntity<PatientImportResponse> importPatients(InputStream csv) {
+        return ResponseEntity.ok(patientImportService.importPatients(csv));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get patient by ID")
     @ApiResponse(responseCode = "200", description = "Patient found")
@@ -71,6 +100,46 @@ public class PatientController {
                 patientService.getAllPatientsWithAppointments(pageable));
     }
 
+    @GetMapping(params = "after")
+    @Operation(summary = "Get patients with their appointments using keyset pagination",
+            description = "Pass an empty 'after' for the first page, then the returned 'next' "
+                    + "cursor. Skips the total count, so deep pages cost the same as the first.")
+    @ApiResponse(responseCode = "200", description = "Page returned")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort field")
+    public ResponseEntity<CursorPagedResponse<PatientWithAppointmentsResponse>>
+    getPatientsWithAppointmentsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        return ResponseEntity.ok(
+                patientService.getPatientsWithAppointmentsAfter(after, size, sortBy, sortDir));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export all patients with their appointments as NDJSON",
+            description = "Streams one JSON object per line straight from a database cursor.")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    public ResponseEntity<StreamingResponseBody> exportPatients() {
+        ObjectWriter writer = objectMapper.writerFor(PatientWithAppointmentsResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+            patientService.exportPatientsWithAppointments(patient -> {
+                try {
+                    out.write(writer.writeValueAsBytes(patient));
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"patients.ndjson\"")
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Soft delete a patient")
     @ApiResponse(responseCode = "204", description = "Patient deleted successfully")
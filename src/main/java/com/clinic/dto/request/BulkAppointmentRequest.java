@@ -0,0 +1,15 @@
+package com.clinic.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkAppointmentRequest(
+
+        @NotEmpty(message = "At least one appointment is required")
+        @Size(max = 1000, message = "A batch must not exceed 1000 appointments")
+        List<@Valid AppointmentRequest> appointments
+) {
+}
@@ -0,0 +1,18 @@
+package com.clinic.dto.response;
+
+import java.util.List;
+
+public record BulkAppointmentResponse(
+        int requested,
+        int created,
+        int failed,
+        List<BulkAppointmentResult> results
+) {
+    public static BulkAppointmentResponse of(List<BulkAppointmentResult> results) {
+        int created = (int) results.stream()
+                .filter(r -> BulkAppointmentResult.CREATED.equals(r.status()))
+                .count();
+        return new BulkAppointmentResponse(
+                results.size(), created, results.size() - created, results);
+    }
+}
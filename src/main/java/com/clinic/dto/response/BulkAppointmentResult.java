@@ -0,0 +1,20 @@
+package com.clinic.dto.response;
+
+public record BulkAppointmentResult(
+        int index,
+        String status,
+        AppointmentResponse appointment,
+        String error
+) {
+    public static final String CREATED = "CREATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String CONFLICT = "CONFLICT";
+
+    public static BulkAppointmentResult created(int index, AppointmentResponse appointment) {
+        return new BulkAppointmentResult(index, CREATED, appointment, null);
+    }
+
+    public static BulkAppointmentResult failed(int index, String status, String error) {
+        return new BulkAppointmentResult(index, status, null, error);
+    }
+}
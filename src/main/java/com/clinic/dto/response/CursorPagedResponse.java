@@ -0,0 +1,15 @@
+package com.clinic.dto.response;
+
+import java.util.List;
+
+/**
+ * Page envelope for keyset pagination. {@code next} is an opaque cursor to pass back as
+ * {@code ?after=}; it is {@code null} on the last page. No total count is computed.
+ */
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int pageSize,
+        String next,
+        boolean last
+) {
+}
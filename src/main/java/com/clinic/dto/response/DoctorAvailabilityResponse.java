@@ -0,0 +1,13 @@
+package com.clinic.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DoctorAvailabilityResponse(
+        Long doctorId,
+        LocalDate date,
+        Integer slotMinutes,
+        List<LocalDateTime> availableSlots
+) {
+}
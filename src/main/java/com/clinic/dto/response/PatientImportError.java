@@ -0,0 +1,7 @@
+package com.clinic.dto.response;
+
+public record PatientImportError(
+        long line,
+        String error
+) {
+}
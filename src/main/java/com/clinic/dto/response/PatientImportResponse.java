@@ -0,0 +1,15 @@
+package com.clinic.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. {@code errors} lists rejected rows by line number and is
+ * capped, so {@code failed} may be larger than its size.
+ */
+public record PatientImportResponse(
+        int processed,
+        int imported,
+        int failed,
+        List<PatientImportError> errors
+) {
+}
@@ -0,0 +1,12 @@
+package com.clinic.dto.response;
+
+import java.time.LocalDateTime;
+
+public record SlotOptionResponse(
+        Long doctorId,
+        String doctorName,
+        String specialty,
+        LocalDateTime slotStart,
+        Integer slotMinutes
+) {
+}
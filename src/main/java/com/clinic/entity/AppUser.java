@@ -1,8 +1,10 @@
 package com.clinic.entity;
 
 import com.clinic.entity.enums.Role;
+import com.clinic.security.AppUserChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -20,6 +22,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "app_users")
+@EntityListeners(AppUserChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
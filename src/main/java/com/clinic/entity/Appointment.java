@@ -9,10 +9,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Version;
@@ -28,6 +30,9 @@ import java.time.LocalDateTime;
 @Table(name = "appointments", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"doctor_id", "appointment_date_time"},
                 name = "uk_doctor_datetime")
+}, indexes = {
+        // Reminder loading scans upcoming appointments across all doctors by start time
+        @Index(name = "idx_appointments_date_time", columnList = "appointment_date_time")
 })
 @Getter
 @Setter
@@ -36,8 +41,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Appointment {
 
+    // Pooled sequence ids keep Hibernate JDBC insert batching enabled for bulk scheduling
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -8,9 +8,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -26,7 +28,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "patients")
+// Composite (column, id) indexes back keyset pagination on the listing's sort columns
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_name_en_id", columnList = "full_name_en, id"),
+        @Index(name = "idx_patients_name_ar_id", columnList = "full_name_ar, id"),
+        @Index(name = "idx_patients_dob_id", columnList = "date_of_birth, id")
+})
 @SQLRestriction("deleted = false")
 @Getter
 @Setter
@@ -35,8 +42,10 @@ import java.util.List;
 @Builder
 public class Patient {
 
+    // Pooled sequence ids keep Hibernate JDBC insert batching enabled for CSV imports
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_seq")
+    @SequenceGenerator(name = "patient_seq", sequenceName = "patients_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "full_name_en", nullable = false, length = 150)
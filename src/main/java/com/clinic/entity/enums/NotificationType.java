@@ -0,0 +1,7 @@
+package com.clinic.entity.enums;
+
+public enum NotificationType {
+    APPOINTMENT_CONFIRMATION,
+    APPOINTMENT_REMINDER_24H,
+    APPOINTMENT_REMINDER_1H
+}
@@ -0,0 +1,7 @@
+package com.clinic.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
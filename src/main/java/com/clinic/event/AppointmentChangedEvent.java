@@ -0,0 +1,20 @@
+package com.clinic.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code AppointmentService} whenever an appointment is created or updated.
+ * {@code previousDateTime} and {@code dateTime} are the slot occupied before and after the
+ * change: {@code previousDateTime} is {@code null} for new or re-activated appointments,
+ * {@code dateTime} is {@code null} once an appointment is cancelled, and both are equal when
+ * the slot did not change. Listeners normally use {@code @TransactionalEventListener} so they
+ * only see committed changes.
+ */
+public record AppointmentChangedEvent(
+        Long appointmentId,
+        Long doctorId,
+        Long patientId,
+        LocalDateTime previousDateTime,
+        LocalDateTime dateTime
+) {
+}
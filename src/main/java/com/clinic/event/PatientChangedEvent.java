@@ -0,0 +1,8 @@
+package com.clinic.event;
+
+/**
+ * Published by {@code PatientService} when a patient is registered or soft-deleted, i.e.
+ * whenever the set of listed patients changes.
+ */
+public record PatientChangedEvent(Long patientId) {
+}
@@ -4,6 +4,7 @@ import com.clinic.dto.response.ApiErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -44,6 +45,36 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request, null);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidCursor(
+            InvalidCursorException ex, HttpServletRequest request) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidImport(
+            InvalidImportException ex, HttpServletRequest request) {
+        log.warn("Invalid import file: {}", ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiErrorResponse> handleTooManyRequests(
+            TooManyRequestsException ex, HttpServletRequest request) {
+        log.warn("Too many requests to {}: {}", request.getRequestURI(), ex.getMessage());
+        return withRetryAfter(buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(),
+                request, null), ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleServiceUnavailable(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+        log.warn("Service unavailable for {}: {}", request.getRequestURI(), ex.getMessage());
+        return withRetryAfter(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(),
+                request, null), ex.getRetryAfterSeconds());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidation(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -107,4 +138,11 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(error, status);
     }
+
+    private ResponseEntity<ApiErrorResponse> withRetryAfter(
+            ResponseEntity<ApiErrorResponse> response, long retryAfterSeconds) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
 }
@@ -0,0 +1,303 @@
+package com.clinic.init;
+
+import com.clinic.entity.Doctor;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.Specialty;
+import com.clinic.repository.DoctorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills an empty database with the synthetic dataset described by {@link PerfSeedProperties}.
+ *
+ * <p>Patients and appointments bypass JPA: rows are generated with explicit ids and written
+ * as plain JDBC batches, one batch per transaction, spread over {@code threads} workers.
+ * Every row draws from its own {@link SplittableRandom} seeded by {@code seed} and the row
+ * id, so the dataset does not depend on thread count or batch size. Appointments are
+ * spread over a 30-minute grid per doctor and day in a fixed pseudo-random order that never
+ * repeats a slot. Afterwards the id sequences are moved past the seeded rows so the
+ * application keeps allocating fresh ids.
+ */
+@Component
+@Profile("perf")
+@Order(2)
+@EnableConfigurationProperties(PerfSeedProperties.class)
+public class PerfDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    private static final LocalTime FIRST_SLOT = LocalTime.of(8, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 18;
+    // Longest seeded consultation is one slot, so grid slots never overlap
+    private static final int[] DURATIONS = {15, 20, 25, 30};
+    // Matches allocationSize on the Patient and Appointment sequence generators
+    private static final int ALLOCATION_SIZE = 50;
+    private static final long APPOINTMENT_STREAM = 0x9E3779B97F4A7C15L;
+    private static final DateTimeFormatter CIVIL_ID_DATE = DateTimeFormatter.ofPattern("yyMMdd");
+    private static final String[] REASONS = {
+            "Routine check-up", "Follow-up visit", "Chest pain", "Skin rash", "Back pain",
+            "Vaccination", "Headache", "Prescription renewal", "Lab results review", "Fever"
+    };
+
+    private static final String INSERT_PATIENT = """
+            INSERT INTO patients (id, full_name_en, full_name_ar, email, mobile_number, date_of_birth,
+                                  national_id, street, city, region, deleted, version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0, ?, ?)""";
+    private static final String INSERT_APPOINTMENT = """
+            INSERT INTO appointments (id, patient_id, doctor_id, appointment_date_time, status, reason,
+                                      version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)""";
+
+    private final DoctorRepository doctorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PerfSeedProperties properties;
+
+    public PerfDataSeeder(DoctorRepository doctorRepository, JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager, PerfSeedProperties properties) {
+        this.doctorRepository = doctorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Found {} patients, skipping perf seed", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        seedDoctors();
+        long[] doctorIds = doctorRepository.findAll().stream().mapToLong(Doctor::getId).sorted().toArray();
+        AppointmentGrid grid = new AppointmentGrid(doctorIds, properties.from(), properties.to());
+        if (properties.appointments() > grid.capacity()) {
+            throw new IllegalStateException("Cannot place " + properties.appointments()
+                    + " appointments in " + grid.capacity() + " slots; add doctors or widen the date range");
+        }
+        if (properties.appointments() > 0 && properties.patients() == 0) {
+            throw new IllegalStateException("Appointments need at least one patient");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        insert("patients", properties.patients(), INSERT_PATIENT,
+                (ps, id) -> bindPatient(ps, id, now));
+        insert("appointments", properties.appointments(), INSERT_APPOINTMENT,
+                (ps, id) -> bindAppointment(ps, id, grid, now));
+        advanceSequence("patients_seq", properties.patients());
+        advanceSequence("appointments_seq", properties.appointments());
+
+        log.info("Perf seed finished in {} s", (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void seedDoctors() {
+        SplittableRandom random = new SplittableRandom(properties.seed());
+        Specialty[] specialties = Specialty.values();
+        List<Doctor> doctors = new ArrayList<>(properties.doctors());
+        for (int i = 0; i < properties.doctors(); i++) {
+            String[] name = SyntheticNames.doctorName(random);
+            doctors.add(Doctor.builder()
+                    .nameEn(name[0]).nameAr(name[1])
+                    .specialty(specialties[random.nextInt(specialties.length)])
+                    .yearsOfExperience(1 + random.nextInt(35))
+                    .consultationDurationMinutes(DURATIONS[random.nextInt(DURATIONS.length)])
+                    .build());
+        }
+        doctorRepository.saveAll(doctors);
+        log.info("Seeded {} doctors", doctors.size());
+    }
+
+    private void bindPatient(PreparedStatement ps, long id, LocalDateTime now) throws SQLException {
+        SplittableRandom random = new SplittableRandom(properties.seed() + id);
+        String[] name = SyntheticNames.fullName(random);
+        String[] address = SyntheticNames.address(random);
+        String[] en = name[0].split(" ");
+        LocalDate dateOfBirth = properties.from().minusDays(random.nextInt(365 * 90));
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        ps.setLong(1, id);
+        ps.setString(2, name[0]);
+        ps.setString(3, name[1]);
+        ps.setString(4, (en[0] + "." + en[2] + "." + id + "@example.com").toLowerCase(Locale.ROOT));
+        ps.setString(5, SyntheticNames.mobileNumber(random));
+        ps.setObject(6, dateOfBirth);
+        // Civil-id style: century digit, birth date, then the id to keep it unique
+        ps.setString(7, (dateOfBirth.getYear() < 2000 ? "2" : "3")
+                + dateOfBirth.format(CIVIL_ID_DATE) + String.format("%07d", id));
+        ps.setString(8, address[0]);
+        ps.setString(9, address[1]);
+        ps.setString(10, address[2]);
+        ps.setTimestamp(11, createdAt);
+        ps.setTimestamp(12, createdAt);
+    }
+
+    private void bindAppointment(PreparedStatement ps, long id, AppointmentGrid grid,
+                                 LocalDateTime now) throws SQLException {
+        SplittableRandom random = new SplittableRandom(properties.seed() ^ (APPOINTMENT_STREAM + id));
+        AppointmentGrid.Slot slot = grid.slot(id - 1);
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        ps.setLong(1, id);
+        ps.setLong(2, 1 + random.nextInt(properties.patients()));
+        ps.setLong(3, slot.doctorId());
+        ps.setTimestamp(4, Timestamp.valueOf(slot.dateTime()));
+        ps.setString(5, status(random, slot.dateTime().isBefore(now)).name());
+        ps.setString(6, REASONS[random.nextInt(REASONS.length)]);
+        ps.setTimestamp(7, createdAt);
+        ps.setTimestamp(8, createdAt);
+    }
+
+    private static AppointmentStatus status(SplittableRandom random, boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 80 ? AppointmentStatus.COMPLETED
+                    : roll < 90 ? AppointmentStatus.CANCELLED : AppointmentStatus.NO_SHOW;
+        }
+        return roll < 70 ? AppointmentStatus.SCHEDULED
+                : roll < 90 ? AppointmentStatus.CONFIRMED : AppointmentStatus.CANCELLED;
+    }
+
+    /**
+     * Inserts ids {@code 1..rows} in batches of {@code batchSize}, each batch committed on its
+     * own by one of the worker threads.
+     */
+    private void insert(String table, int rows, String sql, RowBinder binder) {
+        if (rows == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int batchSize = properties.batchSize();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.threads());
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int first = 1; first <= rows; first += batchSize) {
+                int firstId = first;
+                int count = Math.min(batchSize, rows - first + 1);
+                batches.add(workers.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                binder.bind(ps, firstId + i);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return count;
+                            }
+                        }))));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding " + table, ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Seeding " + table + " failed", ex.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Seeded {} {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000L / millis);
+    }
+
+    /**
+     * Moves a pooled sequence so the next block Hibernate allocates starts after
+     * {@code seededIds}. MySQL has no sequences; Hibernate emulates them with a one-row table.
+     */
+    private void advanceSequence(String sequence, long seededIds) {
+        if (seededIds == 0) {
+            return;
+        }
+        long next = seededIds + ALLOCATION_SIZE;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(database)) {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", next);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long id) throws SQLException;
+    }
+
+    /**
+     * Every (doctor, day, slot) cell in the date range, visited in a fixed order that jumps
+     * across doctors and days. Stepping by a stride coprime to the capacity visits each cell
+     * exactly once before repeating.
+     */
+    static final class AppointmentGrid {
+
+        record Slot(long doctorId, LocalDateTime dateTime) {
+        }
+
+        private final long[] doctorIds;
+        private final LocalDate from;
+        private final long days;
+        private final long capacity;
+        private final long stride;
+
+        AppointmentGrid(long[] doctorIds, LocalDate from, LocalDate to) {
+            this.doctorIds = doctorIds;
+            this.from = from;
+            this.days = Math.max(0, ChronoUnit.DAYS.between(from, to) + 1);
+            this.capacity = doctorIds.length * days * SLOTS_PER_DAY;
+            long stride = capacity > 1 ? 1_000_003 % capacity : 1;
+            while (capacity > 1 && (stride == 0 || gcd(stride, capacity) != 1)) {
+                stride = (stride + 1) % capacity;
+            }
+            this.stride = stride;
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        Slot slot(long index) {
+            long cell = Math.multiplyExact(index, stride) % capacity;
+            int doctor = (int) (cell % doctorIds.length);
+            long rest = cell / doctorIds.length;
+            long day = rest % days;
+            long slot = rest / days;
+            return new Slot(doctorIds[doctor],
+                    from.plusDays(day).atTime(FIRST_SLOT).plusMinutes(slot * SLOT_MINUTES));
+        }
+
+        private static long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.clinic.init;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of the synthetic {@code perf} dataset. The same {@code seed} and sizes always
+ * produce the same rows, independent of {@code threads}.
+ *
+ * @param from      first appointment day; defaults to one year ago
+ * @param to        last appointment day (inclusive); defaults to 90 days ahead
+ * @param threads   insert threads; 0 means one per CPU
+ * @param batchSize rows per JDBC batch and per commit
+ */
+@ConfigurationProperties("app.perf-seed")
+public record PerfSeedProperties(
+        @DefaultValue("200") int doctors,
+        @DefaultValue("100000") int patients,
+        @DefaultValue("1000000") int appointments,
+        LocalDate from,
+        LocalDate to,
+        @DefaultValue("42") long seed,
+        @DefaultValue("0") int threads,
+        @DefaultValue("1000") int batchSize) {
+
+    public PerfSeedProperties {
+        from = from == null ? LocalDate.now().minusYears(1) : from;
+        to = to == null ? LocalDate.now().plusDays(90) : to;
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,93 @@
+package com.clinic.init;
+
+import java.util.SplittableRandom;
+
+/**
+ * Name, contact and address parts for synthetic patients, each with its English and Arabic
+ * form so both name columns are realistic. Names follow the usual given name, father's name,
+ * family name pattern.
+ */
+final class SyntheticNames {
+
+    private static final String[][] MALE = {
+            {"Ahmed", "أحمد"}, {"Mohammed", "محمد"}, {"Abdullah", "عبدالله"}, {"Khalid", "خالد"},
+            {"Omar", "عمر"}, {"Ali", "علي"}, {"Hassan", "حسن"}, {"Hussein", "حسين"},
+            {"Yousef", "يوسف"}, {"Ibrahim", "إبراهيم"}, {"Faisal", "فيصل"}, {"Saad", "سعد"},
+            {"Salem", "سالم"}, {"Nasser", "ناصر"}, {"Fahad", "فهد"}, {"Sultan", "سلطان"},
+            {"Hamad", "حمد"}, {"Mubarak", "مبارك"}, {"Bader", "بدر"}, {"Mansour", "منصور"},
+            {"Talal", "طلال"}, {"Waleed", "وليد"}, {"Tariq", "طارق"}, {"Ziyad", "زياد"},
+            {"Majed", "ماجد"}, {"Adel", "عادل"}, {"Jassim", "جاسم"}, {"Mishal", "مشعل"}
+    };
+
+    private static final String[][] FEMALE = {
+            {"Fatima", "فاطمة"}, {"Maryam", "مريم"}, {"Aisha", "عائشة"}, {"Noura", "نورة"},
+            {"Sara", "سارة"}, {"Huda", "هدى"}, {"Layla", "ليلى"}, {"Reem", "ريم"},
+            {"Dana", "دانة"}, {"Hessa", "حصة"}, {"Shaikha", "شيخة"}, {"Lulwa", "لولوة"},
+            {"Amal", "أمل"}, {"Mona", "منى"}, {"Zainab", "زينب"}, {"Khadija", "خديجة"},
+            {"Asma", "أسماء"}, {"Rana", "رنا"}, {"Hanan", "حنان"}, {"Nada", "ندى"},
+            {"Dalal", "دلال"}, {"Latifa", "لطيفة"}, {"Jawaher", "جواهر"}, {"Shahad", "شهد"}
+    };
+
+    private static final String[][] FAMILY = {
+            {"Al-Sabah", "الصباح"}, {"Al-Mutairi", "المطيري"}, {"Al-Ajmi", "العجمي"},
+            {"Al-Enezi", "العنزي"}, {"Al-Rashidi", "الرشيدي"}, {"Al-Azmi", "العازمي"},
+            {"Al-Shammari", "الشمري"}, {"Al-Hajri", "الهاجري"}, {"Al-Otaibi", "العتيبي"},
+            {"Al-Dosari", "الدوسري"}, {"Al-Kandari", "الكندري"}, {"Al-Awadhi", "العوضي"},
+            {"Al-Saleh", "الصالح"}, {"Al-Ghanim", "الغانم"}, {"Al-Khaled", "الخالد"},
+            {"Al-Mansour", "المنصور"}, {"Al-Nouri", "النوري"}, {"Al-Rashid", "الراشد"},
+            {"Hassan", "حسن"}, {"Khalil", "خليل"}, {"Haddad", "حداد"}, {"Nasser", "ناصر"},
+            {"Al-Fadhli", "الفضلي"}, {"Al-Harbi", "الحربي"}, {"Al-Qahtani", "القحطاني"}
+    };
+
+    // City and the governorate it belongs to
+    private static final String[][] CITIES = {
+            {"Kuwait City", "Capital"}, {"Dasman", "Capital"}, {"Shuwaikh", "Capital"},
+            {"Salmiya", "Hawalli"}, {"Hawalli", "Hawalli"}, {"Jabriya", "Hawalli"},
+            {"Farwaniya", "Farwaniya"}, {"Khaitan", "Farwaniya"}, {"Jleeb Al-Shuyoukh", "Farwaniya"},
+            {"Fahaheel", "Ahmadi"}, {"Mangaf", "Ahmadi"}, {"Ahmadi", "Ahmadi"},
+            {"Jahra", "Jahra"}, {"Saad Al-Abdullah", "Jahra"},
+            {"Sabah Al-Salem", "Mubarak Al-Kabeer"}, {"Adan", "Mubarak Al-Kabeer"}
+    };
+
+    private static final String[] MOBILE_PREFIXES = {"5", "6", "9"};
+
+    private SyntheticNames() {
+    }
+
+    /**
+     * @return English and Arabic full name
+     */
+    static String[] fullName(SplittableRandom random) {
+        String[][] given = random.nextBoolean() ? MALE : FEMALE;
+        String[] first = pick(random, given);
+        String[] father = pick(random, MALE);
+        String[] family = pick(random, FAMILY);
+        return new String[]{
+                first[0] + " " + father[0] + " " + family[0],
+                first[1] + " " + father[1] + " " + family[1]};
+    }
+
+    static String mobileNumber(SplittableRandom random) {
+        return "+965" + pick(random, MOBILE_PREFIXES) + String.format("%07d", random.nextInt(10_000_000));
+    }
+
+    /**
+     * @return street, city and governorate
+     */
+    static String[] address(SplittableRandom random) {
+        String[] city = pick(random, CITIES);
+        return new String[]{"Block " + (1 + random.nextInt(12)) + ", Street " + (1 + random.nextInt(150)),
+                city[0], city[1]};
+    }
+
+    static String[] doctorName(SplittableRandom random) {
+        String[] name = fullName(random);
+        String[] en = name[0].split(" ");
+        String[] ar = name[1].split(" ");
+        return new String[]{"Dr. " + en[0] + " " + en[2], "د. " + ar[0] + " " + ar[2]};
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -1,12 +1,15 @@
 package com.clinic.mapper;
 
 import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.AppointmentResponse;
 import com.clinic.dto.response.PatientResponse;
 import com.clinic.dto.response.PatientWithAppointmentsResponse;
 import com.clinic.entity.Patient;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 @Mapper
 public interface PatientMapper {
 
@@ -29,4 +32,12 @@ public interface PatientMapper {
     @Mapping(target = "city", source = "address.city")
     @Mapping(target = "region", source = "address.region")
     PatientWithAppointmentsResponse toResponseWithAppointments(Patient patient);
+
+    @Mapping(target = "id", source = "patient.id")
+    @Mapping(target = "street", source = "patient.address.street")
+    @Mapping(target = "city", source = "patient.address.city")
+    @Mapping(target = "region", source = "patient.address.region")
+    @Mapping(target = "appointments", source = "appointments")
+    PatientWithAppointmentsResponse toResponseWithAppointments(
+            Patient patient, List<AppointmentResponse> appointments);
 }
@@ -8,16 +8,28 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-    List<Appointment> findByPatientId(Long patientId);
+    // Fetches both sides the response mapper reads, instead of one lazy load per doctor
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor " +
+            "WHERE a.patient.id = :patientId")
+    List<Appointment> findByPatientId(@Param("patientId") Long patientId);
 
     List<Appointment> findByDoctorId(Long doctorId);
 
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor " +
+            "WHERE a.patient.id IN :patientIds ORDER BY a.appointmentDateTime")
+    List<Appointment> findWithDoctorByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
+
+    /**
+     * Returns non-cancelled appointments starting strictly between {@code start} and {@code end}.
+     * To find overlaps with a slot [s, s + d), pass {@code (s - d, s + d)}.
+     */
     @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId " +
-            "AND a.appointmentDateTime BETWEEN :start AND :end " +
+            "AND a.appointmentDateTime > :start AND a.appointmentDateTime < :end " +
             "AND a.status <> com.clinic.entity.enums.AppointmentStatus.CANCELLED")
     List<Appointment> findConflictingAppointments(
             @Param("doctorId") Long doctorId,
@@ -25,5 +37,58 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("end") LocalDateTime end
     );
 
+    /**
+     * Start times among {@code starts} held by a cancelled appointment of the doctor. Those rows
+     * keep their slot under {@code uk_doctor_datetime}, so the slot cannot be booked again.
+     */
+    @Query("SELECT a.appointmentDateTime FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentDateTime IN :starts " +
+            "AND a.status = com.clinic.entity.enums.AppointmentStatus.CANCELLED")
+    List<LocalDateTime> findCancelledStarts(
+            @Param("doctorId") Long doctorId,
+            @Param("starts") Collection<LocalDateTime> starts
+    );
+
+    @Query("SELECT a.id AS id, a.appointmentDateTime AS appointmentDateTime " +
+            "FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentDateTime > :from " +
+            "AND a.status <> com.clinic.entity.enums.AppointmentStatus.CANCELLED")
+    List<AppointmentSlot> findActiveSlotsByDoctorId(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from
+    );
+
+    @Query("SELECT a.id AS id, a.appointmentDateTime AS appointmentDateTime " +
+            "FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentDateTime > :from AND a.appointmentDateTime < :to " +
+            "AND a.status <> com.clinic.entity.enums.AppointmentStatus.CANCELLED")
+    List<AppointmentSlot> findActiveSlotsByDoctorIdBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Scheduled or confirmed appointments starting in {@code (from, to]}; consecutive windows
+     * never return the same appointment twice.
+     */
+    @Query("SELECT a.id AS id, a.appointmentDateTime AS appointmentDateTime " +
+            "FROM Appointment a WHERE a.appointmentDateTime > :from AND a.appointmentDateTime <= :to " +
+            "AND a.status IN (com.clinic.entity.enums.AppointmentStatus.SCHEDULED, " +
+            "com.clinic.entity.enums.AppointmentStatus.CONFIRMED)")
+    List<AppointmentSlot> findUpcomingSlotsBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.id IN :ids")
+    List<Appointment> findWithPatientAndDoctorByIdIn(@Param("ids") Collection<Long> ids);
+
     Page<Appointment> findByPatientId(Long patientId, Pageable pageable);
+
+    interface AppointmentSlot {
+        Long getId();
+
+        LocalDateTime getAppointmentDateTime();
+    }
 }
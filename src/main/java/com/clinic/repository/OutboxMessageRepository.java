@@ -0,0 +1,35 @@
+package com.clinic.repository;
+
+import com.clinic.entity.OutboxMessage;
+import com.clinic.entity.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Lock timeout -2 is SKIP LOCKED: concurrent dispatchers each claim a different batch.
+    // H2 has no SKIP LOCKED, so there a second dispatcher waits for the first claim to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now "
+            + "ORDER BY m.nextAttemptAt, m.id")
+    List<OutboxMessage> findDueForUpdate(@Param("status") OutboxStatus status,
+                                         @Param("now") LocalDateTime now, Limit limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxStatus status,
+                                      @Param("before") LocalDateTime before);
+}
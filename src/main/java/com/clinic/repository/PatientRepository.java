@@ -1,13 +1,23 @@
 package com.clinic.repository;
 
 import com.clinic.entity.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PatientRepository extends JpaRepository<Patient, Long> {
 
@@ -21,4 +31,23 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     Optional<Patient> findByIdIncludingDeleted(@Param("id") Long id);
 
     Page<Patient> findAll(Pageable pageable);
+
+    // Native so soft-deleted rows count too, as they do for the unique constraints
+    @Query(value = "SELECT email FROM patients WHERE email IN (:emails)", nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query(value = "SELECT national_id FROM patients WHERE national_id IN (:nationalIds)",
+            nativeQuery = true)
+    List<String> findExistingNationalIds(@Param("nationalIds") Collection<String> nationalIds);
+
+    Window<Patient> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Forward-only cursor for exports; MySQL only honours the fetch size with useCursorFetch=true
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Patient p ORDER BY p.id")
+    Stream<Patient> streamAllOrderById();
 }
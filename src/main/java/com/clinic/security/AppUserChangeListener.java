@@ -0,0 +1,53 @@
+package com.clinic.security;
+
+import com.clinic.entity.AppUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that drops a user's cached state once a change to the user commits,
+ * so a disabled user or a changed role takes effect on the next request, and a new user is
+ * not rejected by a cached "no such user" for its username. Bulk JPQL updates
+ * bypass entity listeners and are only picked up when the cache entry expires.
+ */
+@Component
+public class AppUserChangeListener {
+
+    // Resolved lazily: this listener is created while the EntityManagerFactory is being built
+    private final ObjectProvider<UserStateCache> userStateCache;
+
+    public AppUserChangeListener(ObjectProvider<UserStateCache> userStateCache) {
+        this.userStateCache = userStateCache;
+    }
+
+    @PostPersist
+    public void onCreate(AppUser user) {
+        String username = user.getUsername();
+        afterCommit(() -> userStateCache.getObject().invalidate(username));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(AppUser user) {
+        Long userId = user.getId();
+        afterCommit(() -> userStateCache.getObject().invalidate(userId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.clinic.security;
+
+import com.clinic.entity.RevokedToken;
+import com.clinic.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Shared revocation store in the application database, so every instance behind the load
+ * balancer sees the same revocations. The default store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseTokenRevocationStore implements TokenRevocationStore {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Override
+    @Transactional
+    public void revoke(String tokenDigest, LocalDateTime expiresAt) {
+        if (!revokedTokenRepository.existsById(tokenDigest)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenDigest(tokenDigest)
+                    .expiresAt(expiresAt)
+                    .revokedAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Revocation> findRevokedSince(LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = since != null
+                ? revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now)
+                : revokedTokenRepository.findByExpiresAtAfter(now);
+        return tokens.stream()
+                .map(token -> new Revocation(token.getTokenDigest(), token.getExpiresAt()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.clinic.security;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caffeine expiry for per-token cache entries: an entry lives until the token it describes
+ * expires, read from the value as epoch millis. Reads do not extend it.
+ */
+final class ExpireAtTokenExpiry<K, V> implements Expiry<K, V> {
+
+    private final ToLongFunction<V> expiresAtMillis;
+
+    ExpireAtTokenExpiry(ToLongFunction<V> expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        long remaining = expiresAtMillis.applyAsLong(value) - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
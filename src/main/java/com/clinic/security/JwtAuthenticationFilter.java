@@ -1,31 +1,59 @@
 package com.clinic.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    static final String METRIC = "clinic.auth.filter";
+
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
     private final TokenBlacklist tokenBlacklist;
+    private final Timer authenticated;
+    private final Timer rejected;
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtService jwtService, UserStateCache userStateCache,
+                                   TokenBlacklist tokenBlacklist,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        // Web test slices pick up filters but run without a metrics registry
+        this(jwtService, userStateCache, tokenBlacklist,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    JwtAuthenticationFilter(JwtService jwtService, UserStateCache userStateCache,
+                            TokenBlacklist tokenBlacklist, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userStateCache = userStateCache;
+        this.tokenBlacklist = tokenBlacklist;
+        this.authenticated = outcomeTimer(meterRegistry, "success");
+        this.rejected = outcomeTimer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -40,32 +68,66 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = authHeader.substring(7);
+        long start = System.nanoTime();
+        boolean success = authenticate(request, authHeader.substring(7));
+        (success ? authenticated : rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        if (tokenBlacklist.isBlacklisted(jwt)) {
-            filterChain.doFilter(request, response);
-            return;
+        filterChain.doFilter(request, response);
+    }
+
+    // Only the token checks are timed, not the rest of the chain
+    private boolean authenticate(HttpServletRequest request, String jwt) {
+        // Digested once for both the blacklist and the verified-token cache
+        TokenDigest digest = TokenDigest.of(jwt);
+        if (tokenBlacklist.isBlacklisted(digest)) {
+            return false;
         }
 
         try {
-            String username = jwtService.extractUsername(jwt);
+            // Parsed and verified once; both checks below reuse the same claims
+            Claims claims = jwtService.parseClaims(jwt, digest);
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username != null && role != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                    && isCurrent(username, role)) {
+                // The principal comes from the token; only the account state is looked up
+                UserDetails userDetails = User.withUsername(username)
+                        .password("")
+                        .authorities(role)
+                        .build();
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    return true;
                 }
             }
         } catch (Exception e) {
             log.warn("JWT authentication failed: {}", e.getMessage());
         }
+        return false;
+    }
 
-        filterChain.doFilter(request, response);
+    private static Timer outcomeTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Bearer token checks in the authentication filter")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Rejects tokens of deleted or disabled users and tokens issued before a role change
+    private boolean isCurrent(String username, String role) {
+        return userStateCache.get(username)
+                .filter(UserStateCache.UserState::enabled)
+                .filter(state -> state.authority().equals(role))
+                .isPresent();
     }
 }
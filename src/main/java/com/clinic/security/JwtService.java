@@ -1,9 +1,15 @@
 package com.clinic.security;
 
+import com.clinic.config.CacheMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +22,7 @@ import java.util.Date;
 import java.util.function.Function;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
@@ -26,12 +32,35 @@ public class JwtService {
     @Value("${app.jwt.expiration-ms}")
     private long jwtExpirationMs;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize = 10_000;
+
     private SecretKey signingKey;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
+    // Claims of recently verified tokens keyed by the token's digest, each expiring at its exp
+    private Cache<TokenDigest, Claims> verifiedTokens;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new ExpireAtTokenExpiry<TokenDigest, Claims>(
+                        claims -> claims.getExpiration().getTime()))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitor(registry, verifiedTokens, "jwt-verified");
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -44,6 +73,29 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry once and returns its claims. Tokens seen
+     * before are served from the verified-token cache until their own expiry.
+     */
+    public Claims parseClaims(String token) {
+        return parseClaims(token, TokenDigest.of(token));
+    }
+
+    /**
+     * {@link #parseClaims(String)} for a caller that has already digested the token.
+     */
+    public Claims parseClaims(String token, TokenDigest key) {
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -53,21 +105,19 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public long getExpirationMs() {
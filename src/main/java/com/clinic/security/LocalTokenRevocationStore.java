@@ -0,0 +1,61 @@
+package com.clinic.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stand-in for the shared store when developing without one. Revocations are kept in an
+ * embedded H2 database file ({@code app.jwt.local-revocation-url}), so they survive a
+ * restart, and with {@code AUTO_SERVER=TRUE} every instance started on the same machine
+ * opens the same file. Not meant for production.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "local")
+public class LocalTokenRevocationStore implements TokenRevocationStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocalTokenRevocationStore(
+            @Value("${app.jwt.local-revocation-url:jdbc:h2:file:./target/revocations/revoked-tokens;AUTO_SERVER=TRUE}")
+            String url) {
+        // A connection per call: H2 closes the file when the last one does, so another
+        // instance can take over serving it if this one stops
+        this.jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS revoked_tokens ("
+                + "token_digest VARCHAR(64) PRIMARY KEY, "
+                + "expires_at TIMESTAMP NOT NULL, "
+                + "revoked_at TIMESTAMP NOT NULL)");
+    }
+
+    @Override
+    public void revoke(String tokenDigest, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO revoked_tokens (token_digest, expires_at, revoked_at) "
+                    + "VALUES (?, ?, ?)", tokenDigest, expiresAt, LocalDateTime.now());
+        } catch (DuplicateKeyException ex) {
+            // Already revoked
+        }
+    }
+
+    @Override
+    public List<Revocation> findRevokedSince(LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        String sql = "SELECT token_digest, expires_at FROM revoked_tokens WHERE expires_at > ?"
+                + (since != null ? " AND revoked_at >= ?" : "");
+        Object[] args = since != null ? new Object[]{now, since} : new Object[]{now};
+        return jdbcTemplate.query(sql, (rs, row) -> new Revocation(
+                rs.getString("token_digest"), rs.getObject("expires_at", LocalDateTime.class)), args);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", LocalDateTime.now());
+    }
+}
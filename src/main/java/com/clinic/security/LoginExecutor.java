@@ -0,0 +1,70 @@
+package com.clinic.security;
+
+import com.clinic.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Dedicated, bounded pool for password verification. BCrypt is deliberately slow, so a login
+ * storm run on request threads would occupy the whole Tomcat pool; here it is capped at
+ * {@code login-threads} concurrent hashes plus {@code login-queue-capacity} waiting logins,
+ * and anything beyond that is refused at once with a 503 instead of queueing behind it.
+ *
+ * <p>Deliberately not exposed as an {@code Executor} bean, so it is never picked up as the
+ * application's default task executor.
+ */
+@Component
+public class LoginExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginExecutor.class);
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public LoginExecutor(@Value("${app.auth.login-threads:0}") int threads,
+                         @Value("${app.auth.login-queue-capacity:64}") int queueCapacity,
+                         MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("clinic-login-");
+        executor.initialize();
+
+        Gauge.builder("clinic.auth.login.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Logins waiting for a password-verification thread")
+                .register(meterRegistry);
+        Gauge.builder("clinic.auth.login.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Password verifications in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws ServiceUnavailableException when every thread is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        try {
+            return executor.submitCompletable(task);
+        } catch (TaskRejectedException ex) {
+            log.warn("Login rejected: {} verifying, {} queued",
+                    executor.getActiveCount(), executor.getQueueSize());
+            throw new ServiceUnavailableException(
+                    "Login service is busy, please retry shortly", 1);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
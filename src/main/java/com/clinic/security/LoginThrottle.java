@@ -0,0 +1,101 @@
+package com.clinic.security;
+
+import com.clinic.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per username and per client IP and refuses further attempts once
+ * either count reaches its limit, until the failure window has passed since the last
+ * counted failure. Refused attempts never reach the password encoder, so a brute-force run
+ * costs one map lookup instead of a BCrypt hash. The client IP is the real client address
+ * resolved from trusted forwarded headers ({@code server.forward-headers-strategy}), but a
+ * whole clinic behind one NAT address still shares it, so the per-IP limit is set an order
+ * of magnitude above the per-user one: it stops password spraying across many accounts
+ * without locking out a shift whose staff each mistype a password or two.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final Duration window;
+    private final Cache<String, Integer> userFailures;
+    private final Cache<String, Integer> ipFailures;
+
+    public LoginThrottle(@Value("${app.auth.max-failures-per-user:5}") int maxFailuresPerUser,
+                         @Value("${app.auth.max-failures-per-ip:500}") int maxFailuresPerIp,
+                         @Value("${app.auth.failure-window-minutes:15}") long windowMinutes) {
+        if (maxFailuresPerIp < maxFailuresPerUser) {
+            throw new IllegalArgumentException("max-failures-per-ip (" + maxFailuresPerIp
+                    + ") must not be lower than max-failures-per-user (" + maxFailuresPerUser + ")");
+        }
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.userFailures = counters(window);
+        this.ipFailures = counters(window);
+    }
+
+    /**
+     * @throws TooManyRequestsException when the username or the client IP is locked out
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long retryAfter = Math.max(
+                lockedFor(userFailures, normalize(username), maxFailuresPerUser),
+                lockedFor(ipFailures, clientIp, maxFailuresPerIp));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts, please try again later", retryAfter);
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        int failures = userFailures.asMap().merge(normalize(username), 1, Integer::sum);
+        if (clientIp != null) {
+            ipFailures.asMap().merge(clientIp, 1, Integer::sum);
+        }
+        if (failures == maxFailuresPerUser) {
+            log.warn("Login locked for user {} after {} failed attempts", username, failures);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        userFailures.invalidate(normalize(username));
+    }
+
+    /** Seconds until the key is released, or 0 when it is not locked out. */
+    private long lockedFor(Cache<String, Integer> failures, String key, int limit) {
+        if (key == null) {
+            return 0;
+        }
+        Integer count = failures.getIfPresent(key);
+        if (count == null || count < limit) {
+            return 0;
+        }
+        Duration age = failures.policy().expireAfterWrite()
+                .flatMap(policy -> policy.ageOf(key))
+                .orElse(Duration.ZERO);
+        return Math.max(window.minus(age).toSeconds(), 1);
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Cache<String, Integer> counters(Duration window) {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+}
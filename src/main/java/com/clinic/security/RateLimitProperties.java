@@ -0,0 +1,25 @@
+package com.clinic.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Token-bucket limits per route group. A request is charged to the first group whose
+ * patterns match its path; paths outside every group are not limited.
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled, List<Group> groups) {
+
+    public RateLimitProperties {
+        groups = groups == null ? List.of() : List.copyOf(groups);
+    }
+
+    /**
+     * @param capacity        burst size: requests a client may make back to back
+     * @param refillPerSecond sustained rate once the burst is spent
+     */
+    public record Group(String name, List<String> patterns, int capacity, double refillPerSecond) {
+    }
+}
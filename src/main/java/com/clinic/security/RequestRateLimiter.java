@@ -0,0 +1,132 @@
+package com.clinic.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets for the route groups in {@link RateLimitProperties}.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the
+ * GCRA form of a token bucket): a request is admitted when that time is no more than
+ * {@code capacity - 1} refill intervals ahead of now, and admitting it advances the time by
+ * one interval with a compare-and-set. No locks are taken, and an idle bucket needs no
+ * refill bookkeeping because it is simply "in the past".
+ */
+@Component
+public class RequestRateLimiter {
+
+    private final List<Route> routes;
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RequestRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RequestRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry,
+                       LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.routes = properties.enabled()
+                ? properties.groups().stream().map(group -> new Route(group, meterRegistry)).toList()
+                : List.of();
+        // A bucket untouched for longer than its full refill time is indistinguishable from a new one
+        long idleNanos = routes.stream()
+                .mapToLong(route -> route.interval * route.capacity)
+                .max().orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofNanos(Math.max(idleNanos, TimeUnit.MINUTES.toNanos(1))))
+                .build();
+        Gauge.builder("clinic.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Clients with an active rate-limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the client's bucket for the group matching {@code path}.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token frees up
+     */
+    public long acquire(String path, String client) {
+        Route route = match(path);
+        if (route == null) {
+            return 0;
+        }
+        AtomicLong arrival = buckets.get(new BucketKey(route.name, client),
+                key -> new AtomicLong(nanoClock.getAsLong()));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long start = current - now > 0 ? current : now;
+            long ahead = start - now;
+            if (ahead > route.tolerance) {
+                route.rejected.increment();
+                return ahead - route.tolerance;
+            }
+            if (arrival.compareAndSet(current, start + route.interval)) {
+                return 0;
+            }
+        }
+    }
+
+    private Route match(String path) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            for (PathPattern pattern : route.patterns) {
+                if (pattern.matches(container)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private record BucketKey(String group, String client) {
+    }
+
+    private static final class Route {
+
+        private final String name;
+        private final List<PathPattern> patterns;
+        private final long capacity;
+        private final long interval;
+        private final long tolerance;
+        private final Counter rejected;
+
+        Route(RateLimitProperties.Group group, MeterRegistry meterRegistry) {
+            if (group.capacity() < 1 || group.refillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Rate limit group '" + group.name()
+                        + "' needs capacity >= 1 and refill-per-second > 0");
+            }
+            this.name = group.name();
+            this.patterns = group.patterns().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            this.capacity = group.capacity();
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / group.refillPerSecond());
+            this.tolerance = interval * (capacity - 1);
+            this.rejected = Counter.builder("clinic.ratelimit.rejected")
+                    .description("Requests refused with 429 by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+    }
+}
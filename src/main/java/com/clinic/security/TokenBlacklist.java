@@ -1,29 +1,92 @@
 package com.clinic.security;
 
+import com.clinic.config.CacheMetrics;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
+import java.util.Date;
 
+/**
+ * In-memory near-cache of revoked tokens, checked on every request and kept in sync with
+ * the shared {@link TokenRevocationStore} by {@link TokenRevocationService}. Entries are
+ * keyed by the first 128 bits of the token's SHA-256 digest and expire when the token itself
+ * would have expired, so a revocation lives exactly as long as it matters. Capacity is a
+ * memory budget rather than an entry count; running out of budget evicts live revocations,
+ * which is logged because those tokens become usable again.
+ */
 @Component
-public class TokenBlacklist {
+public class TokenBlacklist implements MeterBinder {
 
-    private final Cache<String, Boolean> blacklistedTokens;
+    private static final Logger log = LoggerFactory.getLogger(TokenBlacklist.class);
 
-    public TokenBlacklist(@Value("${app.jwt.expiration-ms}") long jwtExpirationMs) {
-        this.blacklistedTokens = Caffeine.newBuilder()
-                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
-                .maximumSize(10_000)
+    // Caffeine node with variable expiry (~80 bytes) + key (32) + boxed expiry (16)
+    static final int ENTRY_BYTES = 128;
+
+    private final Cache<TokenDigest, Long> revokedTokens;
+
+    public TokenBlacklist(@Value("${app.jwt.blacklist-memory-mb:16}") long memoryBudgetMb) {
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumWeight(memoryBudgetMb * 1024 * 1024)
+                .weigher((TokenDigest key, Long expiresAt) -> ENTRY_BYTES)
+                .expireAfter(new ExpireAtTokenExpiry<TokenDigest, Long>(Long::longValue))
+                .evictionListener((TokenDigest key, Long expiresAt, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        log.warn("Token blacklist memory budget exceeded, evicted a live revocation");
+                    }
+                })
+                .recordStats()
                 .build();
     }
 
-    public void blacklist(String token) {
-        blacklistedTokens.put(token, Boolean.TRUE);
+    /**
+     * Revokes the token until {@code expiresAt}; tokens that have already expired are ignored.
+     */
+    public void blacklist(String token, Date expiresAt) {
+        blacklistDigest(TokenDigest.sha256(token), expiresAt.getTime());
     }
 
     public boolean isBlacklisted(String token) {
-        return blacklistedTokens.getIfPresent(token) != null;
+        return isBlacklisted(TokenDigest.of(token));
+    }
+
+    boolean isBlacklisted(TokenDigest digest) {
+        return revokedTokens.getIfPresent(digest) != null;
+    }
+
+    /**
+     * Applies a revocation that is only known by its digest, e.g. one read from the shared store.
+     */
+    void blacklistDigest(byte[] sha256, long expiresAtMillis) {
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            revokedTokens.put(TokenDigest.of(sha256), expiresAtMillis);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitor(registry, revokedTokens, "token-blacklist");
+    }
+
+    public long size() {
+        return revokedTokens.estimatedSize();
+    }
+
+    /**
+     * Hit, miss and eviction counts of the underlying cache.
+     */
+    public CacheStats stats() {
+        return revokedTokens.stats();
+    }
+
+    void cleanUp() {
+        revokedTokens.cleanUp();
     }
 }
@@ -0,0 +1,32 @@
+package com.clinic.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * First 128 bits of a bearer token's SHA-256 digest, used as the cache key for the token so
+ * caches hold a fixed-size value instead of the raw token. The authentication filter computes
+ * it once per request and hands it to both the blacklist and the verified-token cache.
+ */
+public record TokenDigest(long high, long low) {
+
+    public static TokenDigest of(String token) {
+        return of(sha256(token));
+    }
+
+    static TokenDigest of(byte[] sha256) {
+        ByteBuffer digest = ByteBuffer.wrap(sha256);
+        return new TokenDigest(digest.getLong(), digest.getLong());
+    }
+
+    static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.clinic.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Propagates logouts across instances. A revocation is applied to the local
+ * {@link TokenBlacklist} immediately and written to the shared {@link TokenRevocationStore};
+ * every instance pulls new revocations from the store on a fixed delay, so a token revoked on
+ * one node is rejected by all nodes within {@code app.jwt.revocation-sync-ms}. Each pull
+ * re-reads a small overlap window to tolerate clock skew and late commits; applying a
+ * revocation twice is harmless.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationStore store;
+    private final TokenBlacklist tokenBlacklist;
+    private final Duration overlap;
+
+    // Start of the last successful pull; null until the first pull has loaded every live revocation
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(TokenRevocationStore store,
+                                  TokenBlacklist tokenBlacklist,
+                                  @Value("${app.jwt.revocation-sync-overlap-ms:30000}") long overlapMs) {
+        this.store = store;
+        this.tokenBlacklist = tokenBlacklist;
+        this.overlap = Duration.ofMillis(overlapMs);
+    }
+
+    public void revoke(String token, Date expiresAt) {
+        tokenBlacklist.blacklist(token, expiresAt);
+        store.revoke(HexFormat.of().formatHex(TokenDigest.sha256(token)),
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-ms:2000}")
+    public void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            List<TokenRevocationStore.Revocation> revocations = store.findRevokedSince(
+                    lastSync != null ? lastSync.minus(overlap) : null);
+            revocations.forEach(revocation -> tokenBlacklist.blacklistDigest(
+                    HexFormat.of().parseHex(revocation.tokenDigest()),
+                    revocation.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+            lastSync = startedAt;
+        } catch (RuntimeException ex) {
+            // Keep lastSync so the next pull catches up on everything missed
+            log.warn("Token revocation sync failed: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-ms:3600000}")
+    public void purgeExpired() {
+        int purged = store.purgeExpired();
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+        }
+    }
+}
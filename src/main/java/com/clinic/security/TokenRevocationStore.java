@@ -0,0 +1,31 @@
+package com.clinic.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Where revocations are recorded so every instance can see them. Implementations are only
+ * touched on logout and by the background sync in {@link TokenRevocationService}; request
+ * authentication always reads the in-memory {@link TokenBlacklist}.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Records a revocation. Revoking the same digest twice is harmless.
+     */
+    void revoke(String tokenDigest, LocalDateTime expiresAt);
+
+    /**
+     * Revocations recorded at or after {@code since} that have not expired yet. A {@code null}
+     * {@code since} returns every live revocation.
+     */
+    List<Revocation> findRevokedSince(LocalDateTime since);
+
+    /**
+     * Deletes revocations whose tokens have expired and returns how many were removed.
+     */
+    int purgeExpired();
+
+    record Revocation(String tokenDigest, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.clinic.security;
+
+import com.clinic.config.CacheMetrics;
+import com.clinic.repository.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Small cache of the account state a JWT is checked against on each request: whether the
+ * user still exists, is enabled and still holds the role the token was issued for. Entries
+ * are invalidated by {@link AppUserChangeListener} when a user is updated or removed, and
+ * expire after a short TTL as a backstop for changes made outside the application.
+ * Unknown usernames are cached as empty too, so a deleted user's still-valid tokens do not
+ * reach the database on every request; creating a user drops its cached absence.
+ */
+@Component
+public class UserStateCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStateCache.class);
+
+    private final AppUserRepository appUserRepository;
+    private final Cache<String, Optional<UserState>> states;
+
+    public UserStateCache(AppUserRepository appUserRepository,
+                          @Value("${app.jwt.user-state-ttl-seconds:60}") long ttlSeconds) {
+        this.appUserRepository = appUserRepository;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<UserState> get(String username) {
+        return states.get(username, this::load);
+    }
+
+    public void invalidate(Long userId) {
+        if (states.asMap().values().removeIf(state -> state.filter(s -> s.id().equals(userId)).isPresent())) {
+            log.debug("Invalidated cached state for user {}", userId);
+        }
+    }
+
+    public void invalidate(String username) {
+        states.invalidate(username);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitor(registry, states, "user-state");
+    }
+
+    private Optional<UserState> load(String username) {
+        return appUserRepository.findByUsername(username)
+                .map(user -> new UserState(user.getId(),
+                        "ROLE_" + user.getRole().name(), user.isEnabled()));
+    }
+
+    /**
+     * {@code authority} uses the same {@code ROLE_} form that is written to the token's role claim.
+     */
+    public record UserState(Long id, String authority, boolean enabled) {
+    }
+}
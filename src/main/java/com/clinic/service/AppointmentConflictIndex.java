@@ -0,0 +1,224 @@
+package com.clinic.service;
+
+import com.clinic.entity.Doctor;
+import com.clinic.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of every doctor's non-cancelled appointments, used to answer
+ * "does [start, start + consultationDurationMinutes) overlap anything" without a query.
+ * A doctor's schedule is loaded from the database on first use and then kept in sync
+ * by {@link AppointmentService}: claims become visible immediately and are rolled back
+ * with the transaction, releases are applied once the transaction has committed.
+ * Slots that have ended are trimmed as new ones are claimed, and schedules of doctors
+ * nobody has booked or checked for {@code app.scheduling.conflict-index-idle-minutes}
+ * are dropped and reloaded on next use.
+ */
+@Component
+public class AppointmentConflictIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentConflictIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration idleTimeout;
+    private final Clock clock;
+
+    private final Map<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AppointmentConflictIndex(AppointmentRepository appointmentRepository,
+                                    @Value("${app.scheduling.conflict-index-idle-minutes:60}") long idleMinutes) {
+        this(appointmentRepository, Duration.ofMinutes(idleMinutes), Clock.systemDefaultZone());
+    }
+
+    AppointmentConflictIndex(AppointmentRepository appointmentRepository, Duration idleTimeout, Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    public boolean hasConflict(Doctor doctor, LocalDateTime start, Long excludeId) {
+        return scheduleOf(doctor).overlaps(start, excludeId);
+    }
+
+    /**
+     * Atomically checks the slot and records it for the given appointment.
+     * Returns {@code false} without changing anything if the slot is already taken.
+     */
+    public boolean tryClaim(Doctor doctor, Long appointmentId, LocalDateTime start) {
+        DoctorSchedule schedule = scheduleOf(doctor);
+        if (!schedule.claim(start, appointmentId, LocalDateTime.now(clock))) {
+            return false;
+        }
+        afterCompletion(committed -> {
+            if (!committed) {
+                schedule.remove(start, appointmentId);
+            }
+        });
+        return true;
+    }
+
+    public void release(Doctor doctor, Long appointmentId, LocalDateTime start) {
+        DoctorSchedule schedule = scheduleOf(doctor);
+        afterCompletion(committed -> {
+            if (committed) {
+                schedule.remove(start, appointmentId);
+            }
+        });
+    }
+
+    /**
+     * Trims ended slots from every schedule and drops the idle ones. A schedule is only
+     * retired under its own lock and after the idle timeout, so a caller that has just
+     * looked it up keeps using a live schedule.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduling.conflict-index-sweep-ms:300000}")
+    public void evictIdle() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long idleBefore = clock.millis() - idleTimeout.toMillis();
+        schedules.forEach((doctorId, schedule) -> {
+            if (schedule.retireIfIdle(idleBefore, now)) {
+                schedules.remove(doctorId, schedule);
+            }
+        });
+    }
+
+    int size() {
+        return schedules.size();
+    }
+
+    private DoctorSchedule scheduleOf(Doctor doctor) {
+        int duration = doctor.getConsultationDurationMinutes();
+        while (true) {
+            DoctorSchedule schedule = schedules.get(doctor.getId());
+            if (schedule == null) {
+                // Loaded outside the map so the query does not block other doctors' lookups
+                DoctorSchedule loaded = load(doctor);
+                schedule = schedules.putIfAbsent(doctor.getId(), loaded);
+                if (schedule == null) {
+                    schedule = loaded;
+                }
+            }
+            if (schedule.touch(duration, clock.millis())) {
+                return schedule;
+            }
+            // Retired by the sweep in between; drop it and load a fresh one
+            schedules.remove(doctor.getId(), schedule);
+        }
+    }
+
+    private DoctorSchedule load(Doctor doctor) {
+        int duration = doctor.getConsultationDurationMinutes();
+        DoctorSchedule schedule = new DoctorSchedule(duration, clock.millis());
+        appointmentRepository.findActiveSlotsByDoctorId(
+                        doctor.getId(), LocalDateTime.now(clock).minusMinutes(duration))
+                .forEach(slot -> schedule.put(slot.getAppointmentDateTime(), slot.getId()));
+        log.debug("Loaded {} active slots into conflict index for doctor {}",
+                schedule.size(), doctor.getId());
+        return schedule;
+    }
+
+    private void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.completed(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.completed(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+        void completed(boolean committed);
+    }
+
+    /**
+     * All of a doctor's appointments share the same length, so [s, s + d) overlaps an
+     * existing appointment exactly when that appointment starts strictly inside (s - d, s + d).
+     * The length follows the doctor's current consultation duration on every lookup.
+     */
+    private static final class DoctorSchedule {
+
+        private long durationMinutes;
+        private long lastUsedMillis;
+        private boolean retired;
+        private final NavigableMap<LocalDateTime, Long> slots = new TreeMap<>();
+
+        private DoctorSchedule(long durationMinutes, long nowMillis) {
+            this.durationMinutes = durationMinutes;
+            this.lastUsedMillis = nowMillis;
+        }
+
+        /**
+         * Marks the schedule as in use and picks up a changed consultation duration.
+         * Returns {@code false} if the schedule has been retired and must not be used.
+         */
+        synchronized boolean touch(long durationMinutes, long nowMillis) {
+            if (retired) {
+                return false;
+            }
+            this.durationMinutes = durationMinutes;
+            this.lastUsedMillis = nowMillis;
+            return true;
+        }
+
+        synchronized boolean retireIfIdle(long idleBeforeMillis, LocalDateTime now) {
+            trim(now);
+            retired = lastUsedMillis < idleBeforeMillis;
+            return retired;
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, Long excludeId) {
+            return slots.subMap(start.minusMinutes(durationMinutes), false,
+                            start.plusMinutes(durationMinutes), false)
+                    .values().stream()
+                    .anyMatch(id -> !Objects.equals(id, excludeId));
+        }
+
+        synchronized boolean claim(LocalDateTime start, Long appointmentId, LocalDateTime now) {
+            if (overlaps(start, appointmentId)) {
+                return false;
+            }
+            trim(now);
+            slots.put(start, appointmentId);
+            return true;
+        }
+
+        // Bookings must be in the future, so a slot that has ended can no longer conflict
+        private void trim(LocalDateTime now) {
+            slots.headMap(now.minusMinutes(durationMinutes), false).clear();
+        }
+
+        synchronized void put(LocalDateTime start, Long appointmentId) {
+            slots.put(start, appointmentId);
+        }
+
+        synchronized void remove(LocalDateTime start, Long appointmentId) {
+            slots.remove(start, appointmentId);
+        }
+
+        synchronized int size() {
+            return slots.size();
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.clinic.service;
 import com.clinic.dto.request.AppointmentRequest;
 import com.clinic.dto.request.AppointmentUpdateRequest;
 import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResult;
 import com.clinic.entity.Appointment;
 import com.clinic.entity.Doctor;
 import com.clinic.entity.Patient;
 import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.event.AppointmentChangedEvent;
 import com.clinic.exception.AppointmentConflictException;
 import com.clinic.exception.ResourceNotFoundException;
 import com.clinic.mapper.AppointmentMapper;
@@ -16,12 +19,23 @@ import com.clinic.repository.PatientRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,9 +49,14 @@ public class AppointmentService {
     private final DoctorRepository doctorRepository;
     private final AppointmentMapper appointmentMapper;
     private final NotificationService notificationService;
+    private final AppointmentConflictIndex conflictIndex;
+    private final DoctorBookingLocks bookingLocks;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.scheduling.booking-lock-mode:JVM}")
+    private BookingLockMode bookingLockMode = BookingLockMode.JVM;
 
     @Transactional
-    @CacheEvict(value = "patients", allEntries = true)
     public AppointmentResponse scheduleAppointment(AppointmentRequest request) {
         log.info("Scheduling appointment: patient={}, doctor={}, dateTime={}",
                 request.patientId(), request.doctorId(), request.appointmentDateTime());
@@ -46,11 +65,23 @@ public class AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Patient", "id", request.patientId()));
 
-        // Lock the doctor row to prevent concurrent bookings for the same doctor
-        Doctor doctor = doctorRepository.findByIdWithLock(request.doctorId())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Doctor", "id", request.doctorId()));
+        if (bookingLockMode == BookingLockMode.DATABASE) {
+            // Lock the doctor row to prevent concurrent bookings across nodes
+            Doctor doctor = doctorRepository.findByIdWithLock(request.doctorId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Doctor", "id", request.doctorId()));
+            return book(patient, doctor, request);
+        }
+
+        return bookingLocks.withLock(request.doctorId(), () -> {
+            Doctor doctor = doctorRepository.findById(request.doctorId())
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Doctor", "id", request.doctorId()));
+            return book(patient, doctor, request);
+        });
+    }
 
+    private AppointmentResponse book(Patient patient, Doctor doctor, AppointmentRequest request) {
         checkForConflicts(doctor, request.appointmentDateTime(), null);
 
         Appointment appointment = Appointment.builder()
@@ -62,8 +93,10 @@ public class AppointmentService {
                 .build();
 
         Appointment saved = appointmentRepository.save(appointment);
+        claimSlot(doctor, saved.getId(), saved.getAppointmentDateTime());
+        publishChange(saved, null, saved.getAppointmentDateTime());
 
-        notificationService.sendAppointmentConfirmation(
+        notificationService.queueAppointmentConfirmation(
                 patient.getEmail(), patient.getFullNameEn(),
                 doctor.getNameEn(), saved.getAppointmentDateTime());
 
@@ -72,15 +105,130 @@ public class AppointmentService {
     }
 
     @Transactional
-    @CacheEvict(value = "patients", allEntries = true)
+    public BulkAppointmentResponse scheduleAppointments(List<AppointmentRequest> requests) {
+        log.info("Scheduling {} appointments in bulk", requests.size());
+
+        Map<Long, Patient> patients = patientRepository.findAllById(
+                        requests.stream().map(AppointmentRequest::patientId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Patient::getId, Function.identity()));
+        Set<Long> doctorIds = requests.stream()
+                .map(AppointmentRequest::doctorId).collect(Collectors.toSet());
+        List<Doctor> doctorList = bookingLockMode == BookingLockMode.DATABASE
+                ? doctorRepository.findAllByIdWithLock(doctorIds)
+                : doctorRepository.findAllById(doctorIds);
+        Map<Long, Doctor> doctors = doctorList.stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+
+        BulkAppointmentResult[] results = new BulkAppointmentResult[requests.size()];
+        Map<Long, List<Integer>> indexesByDoctor = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AppointmentRequest request = requests.get(i);
+            if (!patients.containsKey(request.patientId())) {
+                results[i] = BulkAppointmentResult.failed(i, BulkAppointmentResult.NOT_FOUND,
+                        new ResourceNotFoundException("Patient", "id", request.patientId()).getMessage());
+            } else if (!doctors.containsKey(request.doctorId())) {
+                results[i] = BulkAppointmentResult.failed(i, BulkAppointmentResult.NOT_FOUND,
+                        new ResourceNotFoundException("Doctor", "id", request.doctorId()).getMessage());
+            } else {
+                indexesByDoctor.computeIfAbsent(request.doctorId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Appointment> booked = new ArrayList<>();
+        indexesByDoctor.forEach((doctorId, indexes) -> {
+            Doctor doctor = doctors.get(doctorId);
+            booked.addAll(bookingLockMode == BookingLockMode.DATABASE
+                    ? bookBatch(doctor, indexes, requests, patients, results)
+                    : bookingLocks.withLock(doctorId,
+                            () -> bookBatch(doctor, indexes, requests, patients, results)));
+        });
+
+        if (!booked.isEmpty()) {
+            notificationService.queueAppointmentConfirmations(booked.stream()
+                    .map(a -> new NotificationService.AppointmentConfirmation(
+                            a.getPatient().getEmail(), a.getPatient().getFullNameEn(),
+                            a.getDoctor().getNameEn(), a.getAppointmentDateTime()))
+                    .toList());
+        }
+
+        log.info("Bulk scheduling finished: {} of {} appointments created",
+                booked.size(), requests.size());
+        return BulkAppointmentResponse.of(Arrays.asList(results));
+    }
+
+    private List<Appointment> bookBatch(Doctor doctor, List<Integer> indexes,
+                                        List<AppointmentRequest> requests,
+                                        Map<Long, Patient> patients,
+                                        BulkAppointmentResult[] results) {
+        int duration = doctor.getConsultationDurationMinutes();
+        List<LocalDateTime> starts = indexes.stream()
+                .map(i -> requests.get(i).appointmentDateTime()).sorted().toList();
+        // Neither conflict check sees cancelled rows, but inserting over one would only fail at
+        // flush and roll back the whole batch, so those slots are found up front and fail alone
+        Set<LocalDateTime> cancelled = new HashSet<>(
+                appointmentRepository.findCancelledStarts(doctor.getId(), starts));
+        NavigableSet<LocalDateTime> taken = new TreeSet<>();
+        if (bookingLockMode == BookingLockMode.DATABASE) {
+            // One range query per doctor, then every item is checked in memory
+            appointmentRepository.findConflictingAppointments(doctor.getId(),
+                            starts.get(0).minusMinutes(duration),
+                            starts.get(starts.size() - 1).plusMinutes(duration))
+                    .forEach(a -> taken.add(a.getAppointmentDateTime()));
+        }
+
+        List<Appointment> booked = new ArrayList<>();
+        for (int index : indexes) {
+            AppointmentRequest request = requests.get(index);
+            LocalDateTime start = request.appointmentDateTime();
+            boolean conflict = cancelled.contains(start)
+                    || (bookingLockMode == BookingLockMode.DATABASE
+                            ? !taken.subSet(start.minusMinutes(duration), false,
+                                    start.plusMinutes(duration), false).isEmpty()
+                            : conflictIndex.hasConflict(doctor, start, null));
+            if (conflict) {
+                results[index] = BulkAppointmentResult.failed(index,
+                        BulkAppointmentResult.CONFLICT, conflictFor(doctor).getMessage());
+                continue;
+            }
+
+            Appointment appointment = appointmentRepository.save(Appointment.builder()
+                    .patient(patients.get(request.patientId()))
+                    .doctor(doctor)
+                    .appointmentDateTime(start)
+                    .status(AppointmentStatus.SCHEDULED)
+                    .reason(request.reason())
+                    .build());
+            if (bookingLockMode == BookingLockMode.JVM
+                    && !conflictIndex.tryClaim(doctor, appointment.getId(), start)) {
+                // Lost a race with a concurrent reschedule; the insert has not been flushed yet
+                appointmentRepository.delete(appointment);
+                results[index] = BulkAppointmentResult.failed(index,
+                        BulkAppointmentResult.CONFLICT, conflictFor(doctor).getMessage());
+                continue;
+            }
+
+            taken.add(start);
+            booked.add(appointment);
+            publishChange(appointment, null, start);
+            results[index] = BulkAppointmentResult.created(index,
+                    appointmentMapper.toResponse(appointment));
+        }
+        return booked;
+    }
+
+    @Transactional
     public AppointmentResponse updateAppointment(Long id, AppointmentUpdateRequest request) {
         log.info("Updating appointment ID: {}", id);
 
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", id));
 
+        Doctor doctor = appointment.getDoctor();
+        LocalDateTime previousDateTime = appointment.getAppointmentDateTime();
+        boolean wasActive = isActive(appointment);
+
         if (request.appointmentDateTime() != null) {
-            checkForConflicts(appointment.getDoctor(), request.appointmentDateTime(), id);
+            checkForConflicts(doctor, request.appointmentDateTime(), id);
             appointment.setAppointmentDateTime(request.appointmentDateTime());
         }
 
@@ -92,6 +240,17 @@ public class AppointmentService {
             appointment.setReason(request.reason());
         }
 
+        boolean moved = !previousDateTime.equals(appointment.getAppointmentDateTime());
+        if (isActive(appointment) && (moved || !wasActive)) {
+            claimSlot(doctor, id, appointment.getAppointmentDateTime());
+        }
+        if (wasActive && (moved || !isActive(appointment))) {
+            releaseSlot(doctor, id, previousDateTime);
+        }
+        publishChange(appointment,
+                wasActive ? previousDateTime : null,
+                isActive(appointment) ? appointment.getAppointmentDateTime() : null);
+
         Appointment updated = appointmentRepository.save(appointment);
         log.info("Appointment {} updated successfully", id);
         return appointmentMapper.toResponse(updated);
@@ -109,20 +268,51 @@ public class AppointmentService {
     }
 
     private void checkForConflicts(Doctor doctor, LocalDateTime dateTime, Long excludeId) {
-        LocalDateTime start = dateTime;
-        LocalDateTime end = start.plusMinutes(doctor.getConsultationDurationMinutes());
+        boolean conflict;
+        if (bookingLockMode == BookingLockMode.DATABASE) {
+            int duration = doctor.getConsultationDurationMinutes();
+            List<Appointment> overlapping = appointmentRepository.findConflictingAppointments(
+                    doctor.getId(), dateTime.minusMinutes(duration), dateTime.plusMinutes(duration));
+            conflict = overlapping.stream().anyMatch(a -> !a.getId().equals(excludeId));
+        } else {
+            conflict = conflictIndex.hasConflict(doctor, dateTime, excludeId);
+        }
 
-        List<Appointment> conflicts = appointmentRepository
-                .findConflictingAppointments(doctor.getId(), start, end);
+        if (conflict) {
+            throw conflictFor(doctor);
+        }
+    }
 
-        if (excludeId != null) {
-            conflicts.removeIf(a -> a.getId().equals(excludeId));
+    private void claimSlot(Doctor doctor, Long appointmentId, LocalDateTime dateTime) {
+        // Other nodes' bookings are invisible to the in-memory index, so DATABASE mode bypasses it
+        if (bookingLockMode == BookingLockMode.DATABASE) {
+            return;
+        }
+        if (!conflictIndex.tryClaim(doctor, appointmentId, dateTime)) {
+            throw conflictFor(doctor);
         }
+    }
 
-        if (!conflicts.isEmpty()) {
-            throw new AppointmentConflictException(
-                    "Doctor " + doctor.getNameEn() +
-                            " already has an appointment that overlaps with the requested time slot.");
+    private void releaseSlot(Doctor doctor, Long appointmentId, LocalDateTime dateTime) {
+        if (bookingLockMode == BookingLockMode.JVM) {
+            conflictIndex.release(doctor, appointmentId, dateTime);
         }
     }
+
+    private void publishChange(Appointment appointment, LocalDateTime previousDateTime,
+                               LocalDateTime dateTime) {
+        eventPublisher.publishEvent(new AppointmentChangedEvent(
+                appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), previousDateTime, dateTime));
+    }
+
+    private AppointmentConflictException conflictFor(Doctor doctor) {
+        return new AppointmentConflictException(
+                "Doctor " + doctor.getNameEn() +
+                        " already has an appointment that overlaps with the requested time slot.");
+    }
+
+    private boolean isActive(Appointment appointment) {
+        return appointment.getStatus() != AppointmentStatus.CANCELLED;
+    }
 }
@@ -2,17 +2,28 @@ package com.clinic.service;
 
 import com.clinic.dto.request.LoginRequest;
 import com.clinic.dto.response.AuthResponse;
+import com.clinic.exception.ServiceUnavailableException;
+import com.clinic.exception.TooManyRequestsException;
 import com.clinic.security.JwtService;
-import com.clinic.security.TokenBlacklist;
+import com.clinic.security.LoginExecutor;
+import com.clinic.security.LoginThrottle;
+import com.clinic.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -21,9 +32,36 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final TokenBlacklist tokenBlacklist;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginExecutor loginExecutor;
+    private final LoginThrottle loginThrottle;
+    private final MeterRegistry meterRegistry;
 
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Verifies the password on the {@link LoginExecutor} pool so the request thread is
+     * released while BCrypt runs. Throttled and rejected attempts fail immediately, before
+     * any hashing is done.
+     *
+     * @throws TooManyRequestsException     when the username or client IP is locked out
+     * @throws ServiceUnavailableException when the login pool is saturated
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request, String clientIp) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            loginThrottle.checkAllowed(request.username(), clientIp);
+            return loginExecutor.submit(() -> authenticate(request))
+                    .whenComplete((response, ex) -> sample.stop(
+                            loginTimer(recordOutcome(request.username(), clientIp, ex))));
+        } catch (TooManyRequestsException ex) {
+            sample.stop(loginTimer("throttled"));
+            throw ex;
+        } catch (ServiceUnavailableException ex) {
+            sample.stop(loginTimer("rejected"));
+            throw ex;
+        }
+    }
+
+    private AuthResponse authenticate(LoginRequest request) {
         log.info("Login attempt for user: {}", request.username());
 
         Authentication authentication = authenticationManager.authenticate(
@@ -45,12 +83,34 @@ public class AuthService {
         );
     }
 
+    private String recordOutcome(String username, String clientIp, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                ? ex.getCause() : ex;
+        if (cause == null) {
+            loginThrottle.recordSuccess(username);
+            return "success";
+        }
+        if (cause instanceof AuthenticationException) {
+            loginThrottle.recordFailure(username, clientIp);
+            return "bad_credentials";
+        }
+        return "error";
+    }
+
+    private Timer loginTimer(String outcome) {
+        return Timer.builder("clinic.auth.login")
+                .description("End-to-end login latency, including time queued for a verification thread")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public void logout(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
-            tokenBlacklist.blacklist(token);
-            String username = jwtService.extractUsername(token);
-            log.info("User {} logged out, token blacklisted", username);
+            Claims claims = jwtService.parseClaims(token);
+            tokenRevocationService.revoke(token, claims.getExpiration());
+            log.info("User {} logged out, token blacklisted", claims.getSubject());
         }
     }
 }
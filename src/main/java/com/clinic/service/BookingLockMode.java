@@ -0,0 +1,12 @@
+package com.clinic.service;
+
+/**
+ * How concurrent bookings for the same doctor are serialized.
+ * {@code JVM} uses an in-process striped lock and the in-memory conflict index;
+ * {@code DATABASE} locks the doctor row and checks conflicts in SQL, which is
+ * required when several application nodes share one database.
+ */
+public enum BookingLockMode {
+    JVM,
+    DATABASE
+}
@@ -0,0 +1,232 @@
+package com.clinic.service;
+
+import com.clinic.config.CacheMetrics;
+import com.clinic.dto.response.DoctorAvailabilityResponse;
+import com.clinic.entity.Doctor;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Serves doctor free-slot queries from cached per-day bitmaps. A day is split into
+ * {@code consultationDurationMinutes} slots between the clinic's opening and closing time;
+ * bit {@code k} is set when any active appointment overlaps slot {@code k}. Days are loaded
+ * with one query on first use and then patched from {@link AppointmentChangedEvent}s.
+ * Events only reach this JVM, so a day is reloaded {@code availability-ttl-minutes} after
+ * it was loaded no matter how often it is read or patched; that bounds how long another
+ * node's bookings can stay invisible. Only a load opens a read-only transaction; a cached
+ * day is served without touching the connection pool. At most
+ * {@code availability-load-concurrency} loads run at once, so a burst of cold days (a slot
+ * search across a whole specialty) cannot drain the pool.
+ */
+@Service
+public class DoctorAvailabilityService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorAvailabilityService.class);
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate loadTransaction;
+    private final Semaphore loads;
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final Cache<DayKey, DaySchedule> days;
+
+    @Autowired
+    public DoctorAvailabilityService(
+            DoctorRepository doctorRepository,
+            AppointmentRepository appointmentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.scheduling.opening-time:08:00}") String openingTime,
+            @Value("${app.scheduling.closing-time:17:00}") String closingTime,
+            @Value("${app.scheduling.availability-ttl-minutes:10}") long ttlMinutes,
+            @Value("${app.scheduling.availability-load-concurrency:4}") int loadConcurrency) {
+        this(doctorRepository, appointmentRepository, transactionManager, openingTime, closingTime,
+                Duration.ofMinutes(ttlMinutes), loadConcurrency, Ticker.systemTicker());
+    }
+
+    DoctorAvailabilityService(DoctorRepository doctorRepository, AppointmentRepository appointmentRepository,
+                              PlatformTransactionManager transactionManager, String openingTime,
+                              String closingTime, Duration ttl, int loadConcurrency, Ticker ticker) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+        this.loads = new Semaphore(loadConcurrency);
+        this.openingTime = LocalTime.parse(openingTime);
+        this.closingTime = LocalTime.parse(closingTime);
+        this.days = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfter(new ExpireAfterLoad(ttl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitor(registry, days, "doctor-availability");
+    }
+
+    public DoctorAvailabilityResponse getAvailability(Long doctorId, LocalDate date) {
+        DayKey key = new DayKey(doctorId, date);
+        DaySchedule day = days.getIfPresent(key);
+        if (day == null) {
+            // Taken before entering the cache: a thread waiting for a permit inside the
+            // cache's compute would pin its carrier while holding the entry's lock
+            loads.acquireUninterruptibly();
+            try {
+                day = days.get(key, this::load);
+            } finally {
+                loads.release();
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> free = new ArrayList<>();
+        for (int slot = day.booked().nextClearBit(0); slot < day.slotCount();
+             slot = day.booked().nextClearBit(slot + 1)) {
+            LocalDateTime start = day.slotStart(slot);
+            if (start.isAfter(now)) {
+                free.add(start);
+            }
+        }
+        return new DoctorAvailabilityResponse(doctorId, date, day.slotMinutes(), free);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.previousDateTime() != null) {
+            days.asMap().computeIfPresent(
+                    new DayKey(event.doctorId(), event.previousDateTime().toLocalDate()),
+                    (key, day) -> day.without(event.previousDateTime()));
+        }
+        if (event.dateTime() != null) {
+            days.asMap().computeIfPresent(
+                    new DayKey(event.doctorId(), event.dateTime().toLocalDate()),
+                    (key, day) -> day.with(event.dateTime()));
+        }
+    }
+
+    private DaySchedule load(DayKey key) {
+        return loadTransaction.execute(status -> query(key));
+    }
+
+    private DaySchedule query(DayKey key) {
+        Doctor doctor = doctorRepository.findById(key.doctorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", key.doctorId()));
+        int duration = doctor.getConsultationDurationMinutes();
+        LocalDateTime opening = key.date().atTime(openingTime);
+        int slotCount = (int) (Duration.between(openingTime, closingTime).toMinutes() / duration);
+
+        NavigableSet<LocalDateTime> starts = new TreeSet<>();
+        appointmentRepository.findActiveSlotsByDoctorIdBetween(key.doctorId(),
+                        opening.minusMinutes(duration),
+                        opening.plusMinutes((long) (slotCount + 1) * duration))
+                .forEach(slot -> starts.add(slot.getAppointmentDateTime()));
+
+        log.debug("Loaded availability for doctor {} on {}: {} appointments",
+                key.doctorId(), key.date(), starts.size());
+        return new DaySchedule(opening, duration, slotCount, starts, DaySchedule.bitmap(
+                opening, duration, slotCount, starts));
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    /**
+     * Expires a day a fixed time after it was loaded; patches and reads keep the remaining time.
+     */
+    private record ExpireAfterLoad(long ttlNanos) implements Expiry<DayKey, DaySchedule> {
+
+        @Override
+        public long expireAfterCreate(DayKey key, DaySchedule day, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(DayKey key, DaySchedule day, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(DayKey key, DaySchedule day, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Immutable snapshot of one doctor-day; updates replace the whole value so readers never
+     * see a half-applied change. A day holds a few dozen appointments, so copying is cheap.
+     */
+    private record DaySchedule(LocalDateTime opening, int slotMinutes, int slotCount,
+                               NavigableSet<LocalDateTime> starts, BitSet booked) {
+
+        LocalDateTime slotStart(int slot) {
+            return opening.plusMinutes((long) slot * slotMinutes);
+        }
+
+        DaySchedule with(LocalDateTime start) {
+            NavigableSet<LocalDateTime> updated = new TreeSet<>(starts);
+            updated.add(start);
+            BitSet bits = (BitSet) booked.clone();
+            mark(bits, opening, slotMinutes, slotCount, start, true);
+            return new DaySchedule(opening, slotMinutes, slotCount, updated, bits);
+        }
+
+        DaySchedule without(LocalDateTime start) {
+            NavigableSet<LocalDateTime> updated = new TreeSet<>(starts);
+            updated.remove(start);
+            BitSet bits = (BitSet) booked.clone();
+            mark(bits, opening, slotMinutes, slotCount, start, false);
+            // Slots just cleared may still be covered by a neighbouring appointment
+            updated.subSet(start.minusMinutes(2L * slotMinutes), false,
+                            start.plusMinutes(2L * slotMinutes), false)
+                    .forEach(neighbour -> mark(bits, opening, slotMinutes, slotCount, neighbour, true));
+            return new DaySchedule(opening, slotMinutes, slotCount, updated, bits);
+        }
+
+        static BitSet bitmap(LocalDateTime opening, int slotMinutes, int slotCount,
+                             NavigableSet<LocalDateTime> starts) {
+            BitSet booked = new BitSet(slotCount);
+            starts.forEach(start -> mark(booked, opening, slotMinutes, slotCount, start, true));
+            return booked;
+        }
+
+        // Slot k [s, s + d) is taken when an appointment starts strictly inside (s - d, s + d)
+        private static void mark(BitSet bits, LocalDateTime opening, int slotMinutes,
+                                 int slotCount, LocalDateTime start, boolean taken) {
+            long offset = Duration.between(opening, start).toMinutes();
+            long first = Math.max(Math.floorDiv(offset, slotMinutes), 0);
+            long last = Math.min(Math.floorDiv(offset + slotMinutes - 1, slotMinutes), slotCount - 1L);
+            for (long slot = first; slot <= last; slot++) {
+                bits.set((int) slot, taken);
+            }
+        }
+    }
+}
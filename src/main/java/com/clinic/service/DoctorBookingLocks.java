@@ -0,0 +1,45 @@
+package com.clinic.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed table of locks striped by doctor id. Doctor ids are sequential, so with a
+ * power-of-two table consecutive doctors never share a stripe until it wraps around.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public DoctorBookingLocks(@Value("${app.scheduling.lock-stripes:64}") int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public <T> T withLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeFor(doctorId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int stripeFor(Long doctorId) {
+        int hash = doctorId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
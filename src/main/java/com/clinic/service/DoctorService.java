@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,8 @@ public class DoctorService {
 
     private static final Logger log = LoggerFactory.getLogger(DoctorService.class);
 
+    private static final String SPECIALTY_KEY_PREFIX = "specialty-";
+
     private final DoctorRepository doctorRepository;
     private final DoctorMapper doctorMapper;
 
@@ -37,12 +40,30 @@ public class DoctorService {
                         .orElseThrow(() -> new ResourceNotFoundException("Doctor", "id", id)));
     }
 
-    @Cacheable(value = "doctors", key = "'specialty-' + #specialty")
+    @Cacheable(value = "doctors", key = "'" + SPECIALTY_KEY_PREFIX + "' + #specialty")
     public List<DoctorResponse> getDoctorsBySpecialty(Specialty specialty) {
         log.debug("Fetching doctors by specialty: {}", specialty);
         return doctorMapper.toResponseList(doctorRepository.findBySpecialty(specialty));
     }
 
+    /**
+     * Loads the value cached under {@code key} in the {@code doctors} cache, for the cache's
+     * loader and its refresh-ahead. Calls the methods on {@code this} so the cache is bypassed;
+     * returns {@code null} for a doctor that no longer exists, which drops the entry.
+     */
+    public Object reload(Object key) {
+        if (SimpleKey.EMPTY.equals(key)) {
+            return getAllDoctors();
+        }
+        if (key instanceof Long id) {
+            return doctorRepository.findById(id).map(doctorMapper::toResponse).orElse(null);
+        }
+        if (key instanceof String name && name.startsWith(SPECIALTY_KEY_PREFIX)) {
+            return getDoctorsBySpecialty(Specialty.valueOf(name.substring(SPECIALTY_KEY_PREFIX.length())));
+        }
+        throw new IllegalArgumentException("Not a doctors cache key: " + key);
+    }
+
     public List<DoctorResponse> searchDoctors(String name) {
         return doctorMapper.toResponseList(doctorRepository.searchByName(name));
     }
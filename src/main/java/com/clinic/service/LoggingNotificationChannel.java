@@ -0,0 +1,25 @@
+package com.clinic.service;
+
+import com.clinic.entity.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in that only logs. In production, integrate with an email service (SendGrid,
+ * SES, etc.) behind {@link NotificationChannel}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.channel", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationChannel implements NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationChannel.class);
+
+    @Override
+    public void send(OutboxMessage message) {
+        log.info("Sending {} to {} for appointment with Dr. {} at {}",
+                message.getType(), message.getRecipientEmail(),
+                message.getDoctorName(), message.getAppointmentDateTime());
+    }
+}
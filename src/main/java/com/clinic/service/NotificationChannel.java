@@ -0,0 +1,14 @@
+package com.clinic.service;
+
+import com.clinic.entity.OutboxMessage;
+
+/**
+ * Delivers one outbox message to the patient (email, SMS, ...). Called by
+ * {@link OutboxDispatcher} outside any transaction; throwing marks the message for a retry
+ * with backoff. A message may be delivered again if the dispatcher stops between sending
+ * and recording the result, so implementations should tolerate the occasional duplicate.
+ */
+public interface NotificationChannel {
+
+    void send(OutboxMessage message);
+}
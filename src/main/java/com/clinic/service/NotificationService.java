@@ -1,30 +1,84 @@
 package com.clinic.service;
 
+import com.clinic.entity.OutboxMessage;
+import com.clinic.entity.enums.NotificationType;
+import com.clinic.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Queues patient notifications in the transactional outbox. Messages are written in the
+ * caller's transaction, so they are sent by {@link OutboxDispatcher} only if the booking
+ * commits, and survive a restart of the node that accepted it.
+ */
 @Service
+@RequiredArgsConstructor
 public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
-    @Async
-    public void sendAppointmentConfirmation(String patientEmail, String patientName,
-                                            String doctorName, LocalDateTime dateTime) {
-        log.info("Sending appointment confirmation to {} for appointment with Dr. {} at {}",
-                patientEmail, doctorName, dateTime);
+    private final OutboxMessageRepository outboxRepository;
 
-        // In production, integrate with email service (SendGrid, SES, etc.)
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    @Transactional
+    public void queueAppointmentConfirmation(String patientEmail, String patientName,
+                                             String doctorName, LocalDateTime dateTime) {
+        outboxRepository.save(confirmation(
+                new AppointmentConfirmation(patientEmail, patientName, doctorName, dateTime),
+                LocalDateTime.now()));
+        log.debug("Queued appointment confirmation for {}", patientEmail);
+    }
+
+    @Transactional
+    public void queueAppointmentConfirmations(List<AppointmentConfirmation> confirmations) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.saveAll(confirmations.stream()
+                .map(confirmation -> confirmation(confirmation, now))
+                .toList());
+        log.info("Queued {} appointment confirmations", confirmations.size());
+    }
+
+    @Transactional
+    public void queueAppointmentReminders(List<AppointmentReminder> reminders) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.saveAll(reminders.stream()
+                .map(reminder -> message(reminder.type(), reminder.patientEmail(),
+                        reminder.patientName(), reminder.doctorName(), reminder.dateTime(), now))
+                .toList());
+        log.info("Queued {} appointment reminders", reminders.size());
+    }
+
+    private static OutboxMessage confirmation(AppointmentConfirmation confirmation,
+                                              LocalDateTime now) {
+        return message(NotificationType.APPOINTMENT_CONFIRMATION, confirmation.patientEmail(),
+                confirmation.patientName(), confirmation.doctorName(), confirmation.dateTime(), now);
+    }
+
+    private static OutboxMessage message(NotificationType type, String patientEmail,
+                                         String patientName, String doctorName,
+                                         LocalDateTime dateTime, LocalDateTime now) {
+        return OutboxMessage.builder()
+                .type(type)
+                .recipientEmail(patientEmail)
+                .recipientName(patientName)
+                .doctorName(doctorName)
+                .appointmentDateTime(dateTime)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    public record AppointmentConfirmation(String patientEmail, String patientName,
+                                          String doctorName, LocalDateTime dateTime) {
+    }
 
-        log.info("Appointment confirmation sent to {} successfully", patientEmail);
+    public record AppointmentReminder(NotificationType type, String patientEmail,
+                                      String patientName, String doctorName,
+                                      LocalDateTime dateTime) {
     }
 }
@@ -0,0 +1,221 @@
+package com.clinic.service;
+
+import com.clinic.entity.OutboxMessage;
+import com.clinic.entity.enums.OutboxStatus;
+import com.clinic.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the notification outbox. Each tick runs one round, which claims up to {@code batch-size} due rows with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, leases them by pushing {@code nextAttemptAt}
+ * forward and commits, so other instances skip them without waiting on the lock. Messages
+ * are then sent concurrently on the {@code @Async} executor, outside any transaction, and
+ * once the whole batch has finished the results are written back in one short transaction.
+ * A send still running after half the lease is recorded as a failed attempt. Failed sends
+ * are retried with exponential backoff until {@code max-attempts}, after which the row is
+ * left as {@code FAILED} for inspection.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxMessageRepository outboxRepository;
+    private final NotificationChannel channel;
+    private final Executor sendExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration retention;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    @Autowired
+    public OutboxDispatcher(OutboxMessageRepository outboxRepository,
+                            NotificationChannel channel,
+                            AsyncConfigurer asyncConfigurer,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.notifications.batch-size:100}") int batchSize,
+                            @Value("${app.notifications.lease-seconds:300}") long leaseSeconds,
+                            @Value("${app.notifications.max-attempts:8}") int maxAttempts,
+                            @Value("${app.notifications.backoff-seconds:30}") long backoffSeconds,
+                            @Value("${app.notifications.retention-days:7}") long retentionDays) {
+        this(outboxRepository, channel, asyncConfigurer.getAsyncExecutor(), transactionManager,
+                meterRegistry, batchSize, leaseSeconds, maxAttempts, backoffSeconds, retentionDays);
+    }
+
+    OutboxDispatcher(OutboxMessageRepository outboxRepository,
+                     NotificationChannel channel,
+                     Executor sendExecutor,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry,
+                     int batchSize,
+                     long leaseSeconds,
+                     int maxAttempts,
+                     long backoffSeconds,
+                     long retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.channel = channel;
+        this.sendExecutor = sendExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(backoffSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Sends one batch of due messages. A backlog drains over the following ticks rather than
+     * in one call, so the scheduler thread is held for at most one round.
+     *
+     * @return number of messages claimed
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.poll-ms:1000}")
+    public int dispatch() {
+        List<OutboxMessage> batch = claim();
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.purge-ms:3600000}")
+    public void purgeSent() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxRepository.deleteByStatusAndSentAtBefore(
+                        OutboxStatus.SENT, LocalDateTime.now().minus(retention)));
+        if (removed != null && removed > 0) {
+            log.debug("Purged {} sent outbox messages", removed);
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, Limit.of(batchSize));
+            due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        List<CompletableFuture<String>> sends = batch.stream().map(this::sendAsync).toList();
+        awaitSends(sends);
+        Map<Long, String> errors = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String error = sends.get(i).getNow("send still running when the batch timed out");
+            if (error != null) {
+                errors.put(batch.get(i).getId(), error);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxMessage message : outboxRepository.findAllById(
+                    batch.stream().map(OutboxMessage::getId).toList())) {
+                String error = errors.get(message.getId());
+                if (error == null) {
+                    message.setStatus(OutboxStatus.SENT);
+                    message.setSentAt(now);
+                    sent.increment();
+                } else {
+                    recordFailure(message, error, now);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return a future completing with the error message, or {@code null} once sent
+     */
+    private CompletableFuture<String> sendAsync(OutboxMessage message) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                channel.send(message);
+                return (String) null;
+            }, sendExecutor).exceptionally(ex -> sendFailed(message,
+                    ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex));
+        } catch (RejectedExecutionException ex) {
+            // Executor saturated: retried with backoff like any other failed send
+            return CompletableFuture.completedFuture(sendFailed(message, ex));
+        }
+    }
+
+    private static String sendFailed(OutboxMessage message, Throwable ex) {
+        log.warn("Sending outbox message {} failed: {}", message.getId(), ex.getMessage());
+        return String.valueOf(ex.getMessage());
+    }
+
+    private void awaitSends(List<CompletableFuture<String>> sends) {
+        // Bounded well inside the lease so the results are recorded before another instance
+        // may claim the same rows
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(lease.toMillis() / 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Outbox batch still sending after {}s, recording unfinished sends as failed",
+                    lease.toSeconds() / 2);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // Not reached: every send completes with its error message instead
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void recordFailure(OutboxMessage message, String error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxStatus.FAILED);
+            failed.increment();
+            log.error("Giving up on outbox message {} after {} attempts", message.getId(), attempts);
+            return;
+        }
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        message.setNextAttemptAt(now.plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+        retried.increment();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("clinic.notifications.outbox")
+                .description("Outbox messages processed by the dispatcher")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
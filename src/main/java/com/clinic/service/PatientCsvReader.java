@@ -0,0 +1,88 @@
+package com.clinic.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally wrapped in double quotes,
+ * {@code ""} escapes a quote and quoted fields may span lines. Reads one record at a
+ * time so arbitrarily large files are never held in memory.
+ */
+final class PatientCsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long line;
+
+    PatientCsvReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    /**
+     * Returns the next non-blank record, or {@code null} at end of input.
+     */
+    CsvRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        long startLine = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    values.add(field.toString());
+                    return new CsvRecord(startLine, values, null);
+                }
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return new CsvRecord(startLine, values, "Unterminated quoted field");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * One parsed record; {@code error} is set when the record could not be read completely.
+     */
+    record CsvRecord(long line, List<String> values, String error) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.clinic.service;
+
+import com.clinic.entity.Patient;
+import com.clinic.exception.InvalidCursorException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset position in the patients listing: the sort column, its direction and the last
+ * row's sort value plus id as a tie-breaker. Encoded as URL-safe Base64 so clients treat
+ * it as opaque and the format can change without breaking the API.
+ */
+record PatientCursor(SortKey sortKey, Sort.Direction direction, String value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Columns that can be paged by keyset; each must be non-null so (value, id) is a total order.
+     */
+    enum SortKey {
+        ID("id", Patient::getId, Long::valueOf),
+        FULL_NAME_EN("fullNameEn", Patient::getFullNameEn, value -> value),
+        FULL_NAME_AR("fullNameAr", Patient::getFullNameAr, value -> value),
+        EMAIL("email", Patient::getEmail, value -> value),
+        DATE_OF_BIRTH("dateOfBirth", Patient::getDateOfBirth, LocalDate::parse);
+
+        private final String property;
+        private final Function<Patient, Object> extractor;
+        private final Function<String, Object> parser;
+
+        SortKey(String property, Function<Patient, Object> extractor, Function<String, Object> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        static SortKey of(String property) {
+            return Arrays.stream(values())
+                    .filter(key -> key.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidCursorException(
+                            "Keyset pagination is not supported for sort field: " + property));
+        }
+    }
+
+    static PatientCursor first(String sortBy, String sortDir) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return new PatientCursor(SortKey.of(sortBy), direction, null, null);
+    }
+
+    static PatientCursor after(Patient last, SortKey sortKey, Sort.Direction direction) {
+        return new PatientCursor(sortKey, direction,
+                String.valueOf(sortKey.extractor.apply(last)), last.getId());
+    }
+
+    static PatientCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            // The value goes last because it may itself contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            sortKey.parser.apply(parts[3]);
+            return new PatientCursor(sortKey, Sort.Direction.valueOf(parts[1]),
+                    parts[3], Long.valueOf(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, sortKey.name(), direction.name(), id.toString(), value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Sort sort() {
+        Sort sort = Sort.by(direction, sortKey.property);
+        return sortKey == SortKey.ID ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    ScrollPosition position() {
+        if (id == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortKey.property, sortKey.parser.apply(value));
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,254 @@
+package com.clinic.service;
+
+import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.PatientImportError;
+import com.clinic.dto.response.PatientImportResponse;
+import com.clinic.entity.Patient;
+import com.clinic.exception.InvalidImportException;
+import com.clinic.mapper.PatientMapper;
+import com.clinic.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk patient registration from CSV. Rows are parsed and validated one at a time and
+ * written in chunks: each chunk resolves duplicates with one {@code IN (...)} query per
+ * unique key and is inserted as JDBC batches in its own transaction, so a bad row never
+ * rolls back rows from earlier chunks.
+ */
+@Service
+public class PatientImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientImportService.class);
+
+    static final List<String> COLUMNS = List.of("fullNameEn", "fullNameAr", "email",
+            "mobileNumber", "dateOfBirth", "nationalId", "street", "city", "region");
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PatientListingCache listingCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PatientImportService(PatientRepository patientRepository,
+                                PatientMapper patientMapper,
+                                Validator validator,
+                                EntityManager entityManager,
+                                PatientListingCache listingCache,
+                                PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.listingCache = listingCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public PatientImportResponse importPatients(InputStream csv) {
+        log.info("Starting patient CSV import");
+        ImportReport report = new ImportReport();
+        try (PatientCsvReader reader = new PatientCsvReader(
+                new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader.next());
+
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            PatientCsvReader.CsvRecord record;
+            while ((record = reader.next()) != null) {
+                report.processed++;
+                ImportRow row = parse(record, columns, report);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, report);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            // Chunks commit independently, so evict once even if the import stopped midway
+            listingCache.evictAll();
+        }
+
+        log.info("Patient CSV import finished: {} processed, {} imported, {} failed",
+                report.processed, report.imported, report.failed);
+        // Duplicates are only found when a chunk is written, after later rows were parsed
+        report.errors.sort(Comparator.comparingLong(PatientImportError::line));
+        return new PatientImportResponse(report.processed, report.imported, report.failed,
+                report.errors);
+    }
+
+    private Map<String, Integer> readHeader(PatientCsvReader.CsvRecord header) {
+        if (header == null || header.error() != null) {
+            throw new InvalidImportException("CSV file must start with a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.values().size(); i++) {
+            // Spreadsheet exports often prefix the first column with a byte-order mark
+            columns.put(header.values().get(i).replace("\uFEFF", "").trim(), i);
+        }
+        List<String> missing = COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("CSV header is missing columns: " + missing);
+        }
+        return columns;
+    }
+
+    private ImportRow parse(PatientCsvReader.CsvRecord record, Map<String, Integer> columns,
+                            ImportReport report) {
+        if (record.error() != null) {
+            report.fail(record.line(), record.error());
+            return null;
+        }
+        if (record.values().size() < columns.size()) {
+            report.fail(record.line(), "Expected " + columns.size() + " columns but found "
+                    + record.values().size());
+            return null;
+        }
+
+        LocalDate dateOfBirth;
+        try {
+            dateOfBirth = LocalDate.parse(value(record, columns, "dateOfBirth"));
+        } catch (DateTimeParseException ex) {
+            report.fail(record.line(), "dateOfBirth: must be an ISO date (yyyy-MM-dd)");
+            return null;
+        }
+
+        PatientRegistrationRequest request = new PatientRegistrationRequest(
+                value(record, columns, "fullNameEn"),
+                value(record, columns, "fullNameAr"),
+                value(record, columns, "email"),
+                value(record, columns, "mobileNumber"),
+                dateOfBirth,
+                value(record, columns, "nationalId"),
+                value(record, columns, "street"),
+                value(record, columns, "city"),
+                value(record, columns, "region"));
+
+        Set<ConstraintViolation<PatientRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            report.fail(record.line(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new ImportRow(record.line(), request);
+    }
+
+    private static String value(PatientCsvReader.CsvRecord record, Map<String, Integer> columns,
+                                String column) {
+        return record.values().get(columns.get(column)).trim();
+    }
+
+    private void importChunk(List<ImportRow> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> emails = normalized(patientRepository.findExistingEmails(
+                rows.stream().map(row -> row.request().email()).toList()));
+        Set<String> nationalIds = normalized(patientRepository.findExistingNationalIds(
+                rows.stream().map(row -> row.request().nationalId()).toList()));
+
+        // The sets also catch repeats within the chunk; earlier chunks are already in the table
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String email = normalize(row.request().email());
+            String nationalId = normalize(row.request().nationalId());
+            if (emails.contains(email)) {
+                report.fail(row.line(), String.format(
+                        "Patient already exists with email: '%s'", row.request().email()));
+            } else if (nationalIds.contains(nationalId)) {
+                report.fail(row.line(), String.format(
+                        "Patient already exists with nationalId: '%s'", row.request().nationalId()));
+            } else {
+                emails.add(email);
+                nationalIds.add(nationalId);
+                accepted.add(row);
+            }
+        }
+
+        try {
+            insert(accepted);
+            report.imported += accepted.size();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent registration took one of the keys; isolate it row by row
+            log.warn("Batch insert failed, retrying {} rows individually", accepted.size());
+            for (ImportRow row : accepted) {
+                try {
+                    insert(List.of(row));
+                    report.imported++;
+                } catch (DataIntegrityViolationException rowEx) {
+                    report.fail(row.line(), "A record with the same unique value already exists.");
+                }
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            patientRepository.saveAll(rows.stream()
+                    .map(row -> patientMapper.toEntity(row.request()))
+                    .toList());
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static Set<String> normalized(List<String> values) {
+        return values.stream().map(PatientImportService::normalize)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long line, PatientRegistrationRequest request) {
+    }
+
+    private static final class ImportReport {
+
+        private int processed;
+        private int imported;
+        private int failed;
+        private final List<PatientImportError> errors = new ArrayList<>();
+
+        void fail(long line, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PatientImportError(line, error));
+            }
+        }
+    }
+}
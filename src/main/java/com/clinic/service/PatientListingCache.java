@@ -0,0 +1,139 @@
+package com.clinic.service;
+
+import com.clinic.config.CacheMetrics;
+import com.clinic.config.CachePolicyProperties;
+import com.clinic.dto.response.PagedResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.event.PatientChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the paginated patients-with-appointments listing. Entries are keyed on the full
+ * query shape (page, size and sort) and indexed by the patient ids they contain, so an
+ * appointment write only evicts the pages showing that patient. Registrations and deletions
+ * shift every later page and change the totals, so they clear the whole listing. Evictions
+ * are driven by transactional events and therefore only run once the write has committed.
+ */
+@Component
+public class PatientListingCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientListingCache.class);
+
+    private final Cache<String, Entry> pages;
+    private final Map<Long, Set<String>> keysByPatient = new ConcurrentHashMap<>();
+
+    // Bumped by every eviction so a page loaded concurrently with a write is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public PatientListingCache(CachePolicyProperties properties) {
+        // No loader, so a refresh-after-write in the policy fails the build instead of being ignored
+        this.pages = properties.policy("patients").newBuilder()
+                .<String, Entry>evictionListener((key, entry, cause) -> {
+                    if (key != null && entry != null) {
+                        unindex(key, entry.patientIds());
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.monitor(registry, pages, "patients");
+    }
+
+    public PagedResponse<PatientWithAppointmentsResponse> get(
+            Pageable pageable, Supplier<PagedResponse<PatientWithAppointmentsResponse>> loader) {
+        String key = keyOf(pageable);
+        Entry cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached.page();
+        }
+
+        long loadedAt = generation.get();
+        PagedResponse<PatientWithAppointmentsResponse> page = loader.get();
+        List<Long> patientIds = page.content().stream()
+                .map(PatientWithAppointmentsResponse::id)
+                .toList();
+
+        // An eviction between the load and the indexing below is caught by the generation check
+        pages.put(key, new Entry(page, patientIds));
+        patientIds.forEach(id -> keysByPatient.compute(id, (patientId, keys) -> {
+            Set<String> updated = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            updated.add(key);
+            return updated;
+        }));
+        if (generation.get() != loadedAt) {
+            // The eviction listener only sees size and expiry removals, so unindex here too
+            pages.invalidate(key);
+            unindex(key, patientIds);
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        evictPatients(List.of(event.patientId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        evictAll();
+    }
+
+    public void evictPatients(Collection<Long> patientIds) {
+        generation.incrementAndGet();
+        for (Long patientId : patientIds) {
+            Set<String> keys = keysByPatient.remove(patientId);
+            if (keys == null) {
+                continue;
+            }
+            log.debug("Evicting {} listing pages for patient {}", keys.size(), patientId);
+            for (String key : keys) {
+                Entry removed = pages.asMap().remove(key);
+                if (removed != null) {
+                    unindex(key, removed.patientIds());
+                }
+            }
+        }
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+        keysByPatient.clear();
+    }
+
+    int indexedPatients() {
+        return keysByPatient.size();
+    }
+
+    private void unindex(String key, List<Long> patientIds) {
+        patientIds.forEach(id -> keysByPatient.computeIfPresent(id, (patientId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        }));
+    }
+
+    private static String keyOf(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
+    private record Entry(PagedResponse<PatientWithAppointmentsResponse> page, List<Long> patientIds) {
+    }
+}
@@ -1,24 +1,40 @@
 package com.clinic.service;
 
 import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.CursorPagedResponse;
 import com.clinic.dto.response.PagedResponse;
 import com.clinic.dto.response.PatientResponse;
 import com.clinic.dto.response.PatientWithAppointmentsResponse;
 import com.clinic.entity.Patient;
+import com.clinic.event.PatientChangedEvent;
 import com.clinic.exception.DuplicateResourceException;
 import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.mapper.AppointmentMapper;
 import com.clinic.mapper.PatientMapper;
+import com.clinic.repository.AppointmentRepository;
 import com.clinic.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -26,11 +42,18 @@ public class PatientService {
 
     private static final Logger log = LoggerFactory.getLogger(PatientService.class);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentMapper appointmentMapper;
+    private final EntityManager entityManager;
+    private final PatientListingCache listingCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
-    @CacheEvict(value = "patients", allEntries = true)
     public PatientResponse registerPatient(PatientRegistrationRequest request) {
         log.info("Registering patient with email: {}", request.email());
 
@@ -44,6 +67,7 @@ public class PatientService {
         Patient patient = patientMapper.toEntity(request);
         Patient saved = patientRepository.save(patient);
 
+        eventPublisher.publishEvent(new PatientChangedEvent(saved.getId()));
         log.info("Patient registered successfully with ID: {}", saved.getId());
         return patientMapper.toResponse(saved);
     }
@@ -53,30 +77,110 @@ public class PatientService {
         return patientMapper.toResponse(patient);
     }
 
-    @Cacheable(value = "patients", key = "'all-page-' + #pageable.pageNumber")
     public PagedResponse<PatientWithAppointmentsResponse> getAllPatientsWithAppointments(
             Pageable pageable) {
+        return listingCache.get(pageable, () -> loadPatientsWithAppointments(pageable));
+    }
+
+    private PagedResponse<PatientWithAppointmentsResponse> loadPatientsWithAppointments(
+            Pageable pageable) {
         log.debug("Fetching all patients with appointments, page: {}", pageable.getPageNumber());
 
+        // One query for the page, one for the count and one for all of the page's
+        // appointments with their doctors, independent of the page size
         Page<Patient> patientPage = patientRepository.findAll(pageable);
-        Page<PatientWithAppointmentsResponse> responsePage =
-                patientPage.map(patientMapper::toResponseWithAppointments);
+        List<PatientWithAppointmentsResponse> content = withAppointments(patientPage.getContent());
+
+        return PagedResponse.from(new PageImpl<>(content, patientPage.getPageable(),
+                patientPage.getTotalElements()));
+    }
 
-        return PagedResponse.from(responsePage);
+    /**
+     * Keyset variant of {@link #getAllPatientsWithAppointments}: seeks past the cursor on
+     * (sort column, id) instead of skipping rows, and reads one extra row rather than
+     * counting the table. A non-blank cursor carries its own sort, so {@code sortBy} and
+     * {@code sortDir} only apply to the first page.
+     */
+    public CursorPagedResponse<PatientWithAppointmentsResponse> getPatientsWithAppointmentsAfter(
+            String after, int size, String sortBy, String sortDir) {
+        PatientCursor cursor = after.isBlank()
+                ? PatientCursor.first(sortBy, sortDir)
+                : PatientCursor.decode(after);
+        log.debug("Fetching patients with appointments after cursor, sort: {} {}",
+                cursor.sortKey(), cursor.direction());
+
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Window<Patient> window = patientRepository.findAllBy(
+                cursor.position(), cursor.sort(), Limit.of(pageSize));
+        List<PatientWithAppointmentsResponse> content = withAppointments(window.getContent());
+
+        String next = window.hasNext() && !window.isEmpty()
+                ? PatientCursor.after(window.getContent().getLast(),
+                        cursor.sortKey(), cursor.direction()).encode()
+                : null;
+        return new CursorPagedResponse<>(content, pageSize, next, next == null);
+    }
+
+    /**
+     * Streams every patient with their appointments to {@code sink} from a forward-only
+     * cursor. Patients are handed over in chunks: each chunk loads its appointments in one
+     * query and is then detached, so memory use does not grow with the table.
+     *
+     * @return the number of patients exported
+     */
+    public long exportPatientsWithAppointments(Consumer<PatientWithAppointmentsResponse> sink) {
+        log.info("Exporting all patients with appointments");
+        List<Patient> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        long exported = 0;
+        try (Stream<Patient> patients = patientRepository.streamAllOrderById()) {
+            Iterator<Patient> iterator = patients.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exported += exportChunk(chunk, sink);
+                }
+            }
+            exported += exportChunk(chunk, sink);
+        }
+        log.info("Exported {} patients", exported);
+        return exported;
+    }
+
+    private int exportChunk(List<Patient> chunk, Consumer<PatientWithAppointmentsResponse> sink) {
+        int size = chunk.size();
+        withAppointments(chunk).forEach(sink);
+        chunk.clear();
+        entityManager.clear();
+        return size;
     }
 
     @Transactional
-    @CacheEvict(value = "patients", allEntries = true)
     public void softDeletePatient(Long id) {
         log.info("Soft deleting patient with ID: {}", id);
 
         Patient patient = findPatientOrThrow(id);
         patient.setDeleted(true);
         patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(id));
 
         log.info("Patient {} soft-deleted successfully", id);
     }
 
+    private List<PatientWithAppointmentsResponse> withAppointments(List<Patient> patients) {
+        Map<Long, List<AppointmentResponse>> appointmentsByPatient = patients.isEmpty()
+                ? Map.of()
+                : appointmentRepository.findWithDoctorByPatientIdIn(
+                                patients.stream().map(Patient::getId).toList())
+                        .stream()
+                        .map(appointmentMapper::toResponse)
+                        .collect(Collectors.groupingBy(AppointmentResponse::patientId));
+
+        return patients.stream()
+                .map(patient -> patientMapper.toResponseWithAppointments(patient,
+                        appointmentsByPatient.getOrDefault(patient.getId(), List.of())))
+                .toList();
+    }
+
     private Patient findPatientOrThrow(Long id) {
         return patientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient", "id", id));
@@ -0,0 +1,274 @@
+package com.clinic.service;
+
+import com.clinic.entity.Appointment;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.NotificationType;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends reminders 24 hours and 1 hour before each scheduled or confirmed appointment.
+ *
+ * <p>Pending reminders live in a {@link TimingWheel} with one-second ticks. Only reminders
+ * due within the next {@code horizon-hours} are held: every {@code load-ms} the window is
+ * extended and the newly covered range is read with one indexed query per reminder type,
+ * so memory tracks the next few hours of bookings rather than every future appointment.
+ * {@link AppointmentChangedEvent}s cancel and re-add an appointment's reminders in O(1).
+ * Reminders whose fire time passed while the application was down are not sent.
+ *
+ * <p>The window queries run outside the scheduler's monitor, so bookings are not held up
+ * behind them; changes committed while a query runs are replayed once its results are
+ * merged. If queueing a batch fails, its reminders go back into the wheel and are retried on the
+ * next tick.
+ *
+ * <p>Each instance keeps its own wheel and would send its own copy of every reminder, so
+ * this is off unless {@code app.reminders.enabled} is set, which should be on one node only.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true")
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final Map<NotificationType, Duration> LEAD_TIMES = Map.of(
+            NotificationType.APPOINTMENT_REMINDER_24H, Duration.ofHours(24),
+            NotificationType.APPOINTMENT_REMINDER_1H, Duration.ofHours(1));
+    private static final int FETCH_CHUNK = 500;
+
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+    private final Clock clock;
+    private final Duration horizon;
+    private final Counter dispatched;
+    private final TimingWheel<Reminder> wheel;
+    private final Map<Long, Map<NotificationType, TimingWheel.Entry<Reminder>>> scheduled = new HashMap<>();
+    // Serialises loads; the monitor on this is only held to read or merge into the wheel
+    private final Object loadLock = new Object();
+    // Reminders firing up to this time are in the wheel; later ones are loaded as the window moves
+    private LocalDateTime loadedUntil;
+    // Latest change per appointment while a load's queries run, null when no load is running
+    private Map<Long, AppointmentChangedEvent> changedWhileLoading;
+
+    @Autowired
+    public ReminderScheduler(AppointmentRepository appointmentRepository,
+                             NotificationService notificationService,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.reminders.horizon-hours:6}") long horizonHours) {
+        this(appointmentRepository, notificationService, meterRegistry,
+                Duration.ofHours(horizonHours), Clock.systemDefaultZone());
+    }
+
+    ReminderScheduler(AppointmentRepository appointmentRepository,
+                      NotificationService notificationService, MeterRegistry meterRegistry,
+                      Duration horizon, Clock clock) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.clock = clock;
+        this.horizon = horizon;
+        this.wheel = new TimingWheel<>(1_000, 60, clock.millis());
+        this.dispatched = Counter.builder("clinic.reminders.dispatched")
+                .description("Appointment reminders handed to the notification outbox")
+                .register(meterRegistry);
+        Gauge.builder("clinic.reminders.scheduled", this, ReminderScheduler::pending)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.load-ms:900000}")
+    public void loadUpcoming() {
+        synchronized (loadLock) {
+            LocalDateTime from;
+            LocalDateTime until;
+            synchronized (this) {
+                LocalDateTime now = LocalDateTime.now(clock);
+                from = loadedUntil == null ? now : loadedUntil;
+                until = now.plus(horizon);
+                if (!until.isAfter(from)) {
+                    return;
+                }
+                changedWhileLoading = new HashMap<>();
+            }
+            try {
+                Map<NotificationType, List<AppointmentRepository.AppointmentSlot>> found =
+                        new EnumMap<>(NotificationType.class);
+                for (Map.Entry<NotificationType, Duration> lead : LEAD_TIMES.entrySet()) {
+                    found.put(lead.getKey(), appointmentRepository.findUpcomingSlotsBetween(
+                            from.plus(lead.getValue()), until.plus(lead.getValue())));
+                }
+                merge(found, until);
+            } finally {
+                synchronized (this) {
+                    changedWhileLoading = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.put(event.appointmentId(), event);
+        }
+        apply(event);
+    }
+
+    private synchronized void merge(Map<NotificationType, List<AppointmentRepository.AppointmentSlot>> found,
+                                    LocalDateTime until) {
+        int loaded = 0;
+        for (Map.Entry<NotificationType, List<AppointmentRepository.AppointmentSlot>> slots : found.entrySet()) {
+            Duration lead = LEAD_TIMES.get(slots.getKey());
+            for (AppointmentRepository.AppointmentSlot slot : slots.getValue()) {
+                // The query may have read the appointment before the change committed
+                if (!changedWhileLoading.containsKey(slot.getId())) {
+                    schedule(slot.getId(), slot.getAppointmentDateTime(), slots.getKey(), lead);
+                    loaded++;
+                }
+            }
+        }
+        loadedUntil = until;
+        // Replayed against the extended window, which the change could not see when it arrived
+        changedWhileLoading.values().forEach(this::apply);
+        log.debug("Loaded {} reminders firing up to {}", loaded, until);
+    }
+
+    private void apply(AppointmentChangedEvent event) {
+        Map<NotificationType, TimingWheel.Entry<Reminder>> existing = scheduled.remove(event.appointmentId());
+        if (existing != null) {
+            existing.values().forEach(wheel::cancel);
+        }
+        if (event.dateTime() == null || loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        LEAD_TIMES.forEach((type, lead) -> {
+            LocalDateTime fireAt = event.dateTime().minus(lead);
+            if (fireAt.isAfter(now) && !fireAt.isAfter(loadedUntil)) {
+                schedule(event.appointmentId(), event.dateTime(), type, lead);
+            }
+        });
+    }
+
+    /**
+     * Hands every reminder that has come due to the notification outbox.
+     *
+     * @return number of reminders queued
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.tick-ms:1000}")
+    public int dispatchDue() {
+        List<Reminder> due = advance();
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return queue(due);
+        } catch (RuntimeException ex) {
+            requeue(due);
+            throw ex;
+        }
+    }
+
+    synchronized int pending() {
+        return wheel.size();
+    }
+
+    private int queue(List<Reminder> due) {
+        List<NotificationService.AppointmentReminder> reminders = new ArrayList<>();
+        for (int start = 0; start < due.size(); start += FETCH_CHUNK) {
+            List<Reminder> chunk = due.subList(start, Math.min(start + FETCH_CHUNK, due.size()));
+            Map<Long, Appointment> appointments = appointmentRepository
+                    .findWithPatientAndDoctorByIdIn(chunk.stream().map(Reminder::appointmentId).toList())
+                    .stream().collect(Collectors.toMap(Appointment::getId, Function.identity()));
+            for (Reminder reminder : chunk) {
+                Appointment appointment = appointments.get(reminder.appointmentId());
+                // Guards against changes made outside the application since the reminder was loaded
+                if (appointment != null && isRemindable(appointment)
+                        && appointment.getAppointmentDateTime().equals(reminder.appointmentDateTime())) {
+                    reminders.add(new NotificationService.AppointmentReminder(reminder.type(),
+                            appointment.getPatient().getEmail(), appointment.getPatient().getFullNameEn(),
+                            appointment.getDoctor().getNameEn(), appointment.getAppointmentDateTime()));
+                }
+            }
+        }
+
+        if (!reminders.isEmpty()) {
+            notificationService.queueAppointmentReminders(reminders);
+            dispatched.increment(reminders.size());
+        }
+        return reminders.size();
+    }
+
+    private synchronized List<Reminder> advance() {
+        List<Reminder> due = wheel.advance(clock.millis());
+        for (Reminder reminder : due) {
+            Map<NotificationType, TimingWheel.Entry<Reminder>> entries = scheduled.get(reminder.appointmentId());
+            // Identity check: the slot may already hold a newer entry for the same reminder type
+            if (entries != null && entries.get(reminder.type()) != null
+                    && entries.get(reminder.type()).value() == reminder) {
+                entries.remove(reminder.type());
+                if (entries.isEmpty()) {
+                    scheduled.remove(reminder.appointmentId());
+                }
+            }
+        }
+        return due;
+    }
+
+    private synchronized void requeue(List<Reminder> due) {
+        // Rounded up to the next tick, so it waits in the wheel instead of firing immediately
+        long retryAt = clock.millis() + 1;
+        for (Reminder reminder : due) {
+            Map<NotificationType, TimingWheel.Entry<Reminder>> entries = scheduled.get(reminder.appointmentId());
+            // Skipped if the appointment changed meanwhile and already has a newer reminder
+            if (entries == null || !entries.containsKey(reminder.type())) {
+                schedule(reminder, retryAt);
+            }
+        }
+    }
+
+    private void schedule(Long appointmentId, LocalDateTime dateTime, NotificationType type,
+                          Duration lead) {
+        long fireAt = dateTime.minus(lead).atZone(clock.getZone()).toInstant().toEpochMilli();
+        schedule(new Reminder(appointmentId, dateTime, type), fireAt);
+    }
+
+    private void schedule(Reminder reminder, long fireAt) {
+        TimingWheel.Entry<Reminder> entry = wheel.schedule(fireAt, reminder);
+        TimingWheel.Entry<Reminder> replaced = scheduled
+                .computeIfAbsent(reminder.appointmentId(), id -> new EnumMap<>(NotificationType.class))
+                .put(reminder.type(), entry);
+        if (replaced != null) {
+            wheel.cancel(replaced);
+        }
+    }
+
+    private static boolean isRemindable(Appointment appointment) {
+        return appointment.getStatus() == AppointmentStatus.SCHEDULED
+                || appointment.getStatus() == AppointmentStatus.CONFIRMED;
+    }
+
+    private record Reminder(Long appointmentId, LocalDateTime appointmentDateTime,
+                            NotificationType type) {
+    }
+}
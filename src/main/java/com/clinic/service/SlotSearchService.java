@@ -0,0 +1,129 @@
+package com.clinic.service;
+
+import com.clinic.dto.response.DoctorAvailabilityResponse;
+import com.clinic.dto.response.DoctorResponse;
+import com.clinic.dto.response.SlotOptionResponse;
+import com.clinic.entity.enums.Specialty;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+@RequiredArgsConstructor
+public class SlotSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotSearchService.class);
+
+    private static final int MAX_LIMIT = 50;
+
+    private static final Comparator<SlotOptionResponse> EARLIEST_FIRST =
+            Comparator.comparing(SlotOptionResponse::slotStart)
+                    .thenComparing(SlotOptionResponse::doctorId);
+
+    private final DoctorService doctorService;
+    private final DoctorAvailabilityService availabilityService;
+
+    @Value("${app.scheduling.search-horizon-days:30}")
+    private int horizonDays = 30;
+
+    /**
+     * Scans every doctor of the specialty on its own virtual thread, day by day from
+     * {@code from}. A doctor's scan stops as soon as its next slot cannot beat the
+     * current {@code limit}-th best option, so a full result usually touches only a few days.
+     * Cached days are read concurrently; cold days are loaded under the availability
+     * service's {@code availability-load-concurrency} limit.
+     */
+    public List<SlotOptionResponse> findEarliestSlots(Specialty specialty, LocalDateTime from,
+                                                      int limit) {
+        List<DoctorResponse> doctors = doctorService.getDoctorsBySpecialty(specialty);
+        TopSlots top = new TopSlots(Math.max(1, Math.min(limit, MAX_LIMIT)));
+        log.debug("Searching earliest {} slots across {} {} doctors from {}",
+                top.limit, doctors.size(), specialty, from);
+
+        List<Callable<Void>> scans = new ArrayList<>();
+        for (DoctorResponse doctor : doctors) {
+            scans.add(() -> {
+                scan(doctor, from, top);
+                return null;
+            });
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Void> scan : executor.invokeAll(scans)) {
+                scan.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Slot search was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Slot search failed", e.getCause());
+        }
+        return top.snapshot();
+    }
+
+    private void scan(DoctorResponse doctor, LocalDateTime from, TopSlots top) {
+        LocalDate lastDay = from.toLocalDate().plusDays(horizonDays);
+        for (LocalDate day = from.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (top.isSettledBefore(day.atStartOfDay())) {
+                return;
+            }
+            DoctorAvailabilityResponse availability = availabilityService.getAvailability(doctor.id(), day);
+            for (LocalDateTime slot : availability.availableSlots()) {
+                if (slot.isBefore(from)) {
+                    continue;
+                }
+                if (!top.offer(new SlotOptionResponse(doctor.id(), doctor.nameEn(),
+                        doctor.specialty(), slot, availability.slotMinutes()))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class TopSlots {
+
+        private final int limit;
+        private final TreeSet<SlotOptionResponse> best = new TreeSet<>(EARLIEST_FIRST);
+
+        private TopSlots(int limit) {
+            this.limit = limit;
+        }
+
+        // Returns false once the option cannot make the top list; later slots of the same doctor can't either
+        synchronized boolean offer(SlotOptionResponse option) {
+            if (best.size() == limit) {
+                if (EARLIEST_FIRST.compare(option, best.last()) >= 0) {
+                    return false;
+                }
+                best.pollLast();
+            }
+            best.add(option);
+            return true;
+        }
+
+        synchronized boolean isSettledBefore(LocalDateTime time) {
+            return best.size() == limit && best.last().slotStart().isBefore(time);
+        }
+
+        synchronized List<SlotOptionResponse> snapshot() {
+            return List.copyOf(best);
+        }
+    }
+}
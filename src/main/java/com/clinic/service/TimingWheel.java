@@ -0,0 +1,186 @@
+package com.clinic.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code wheelSize} buckets of {@code tickMs}, and
+ * each level above has buckets as wide as the whole level below it, added on demand. An
+ * entry is placed in the lowest level whose span covers its deadline and cascades down a
+ * level each time the clock reaches its bucket, so scheduling and cancelling are O(1) and
+ * advancing costs one bucket per level per tick plus the entries that actually move.
+ *
+ * <p>Buckets are intrusive doubly-linked lists; {@link #cancel} unlinks the entry directly.
+ * Not thread-safe: callers serialise access.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private final List<T> due = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Schedules {@code value} at {@code deadlineMs}, rounded up to the next tick so it never
+     * fires early. A deadline that has already passed is returned by the next {@link #advance}.
+     */
+    Entry<T> schedule(long deadlineMs, T value) {
+        Entry<T> entry = new Entry<>(deadlineMs, Math.ceilDiv(deadlineMs, tickMs) * tickMs, value);
+        size++;
+        place(entry);
+        return entry;
+    }
+
+    /**
+     * @return {@code false} when the entry already fired or was cancelled
+     */
+    boolean cancel(Entry<T> entry) {
+        if (entry.bucket == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock to {@code nowMs} and returns every value whose deadline has passed, in
+     * tick order.
+     */
+    List<T> advance(long nowMs) {
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            // Higher levels first, so their entries can still fire within this tick
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level<T> level = levels.get(i);
+                if (Math.floorMod(currentTime, level.tickMs) == 0) {
+                    level.bucketFor(currentTime).drain(this::place);
+                }
+            }
+        }
+        List<T> fired = new ArrayList<>(due);
+        due.clear();
+        return fired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.expiration <= currentTime) {
+            due.add(entry.value);
+            size--;
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level<>(levels.get(i - 1).span(), wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            if (entry.expiration < currentTime - Math.floorMod(currentTime, level.tickMs) + level.span()) {
+                level.bucketFor(entry.expiration).add(entry);
+                return;
+            }
+        }
+    }
+
+    static final class Entry<T> {
+
+        private final long deadline;
+        private final long expiration;
+        private final T value;
+        private Bucket<T> bucket;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(long deadline, long expiration, T value) {
+            this.deadline = deadline;
+            this.expiration = expiration;
+            this.value = value;
+        }
+
+        long deadline() {
+            return deadline;
+        }
+
+        T value() {
+            return value;
+        }
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMs;
+        private final Bucket<T>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        long span() {
+            return tickMs * buckets.length;
+        }
+
+        Bucket<T> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMs), (long) buckets.length)];
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Entry<T> head;
+
+        void add(Entry<T> entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        void remove(Entry<T> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.bucket = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+
+        void drain(Consumer<Entry<T>> sink) {
+            Entry<T> entry = head;
+            head = null;
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.bucket = null;
+                entry.prev = null;
+                entry.next = null;
+                sink.accept(entry);
+                entry = next;
+            }
+        }
+    }
+}
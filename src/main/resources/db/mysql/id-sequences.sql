@@ -0,0 +1,30 @@
+-- Id tables for the pooled generators on Appointment, Patient and OutboxMessage (allocationSize 50).
+-- MySQL has no sequences, so Hibernate keeps each one as a single-row table with next_val.
+-- Runs on every prod start before Hibernate validates the schema, and is idempotent:
+-- a table is only seeded when it is created, at MAX(id) + 50 so the first block of
+-- ids handed out (next_val - 49 .. next_val) starts right after the existing rows.
+-- single_row keeps two instances starting at once from seeding the table twice.
+
+CREATE TABLE IF NOT EXISTS appointments_seq (
+    single_row TINYINT NOT NULL DEFAULT 0 PRIMARY KEY,
+    next_val   BIGINT
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO appointments_seq (single_row, next_val)
+SELECT 0, COALESCE(MAX(id), 0) + 50 FROM appointments;
+
+CREATE TABLE IF NOT EXISTS patients_seq (
+    single_row TINYINT NOT NULL DEFAULT 0 PRIMARY KEY,
+    next_val   BIGINT
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO patients_seq (single_row, next_val)
+SELECT 0, COALESCE(MAX(id), 0) + 50 FROM patients;
+
+CREATE TABLE IF NOT EXISTS notification_outbox_seq (
+    single_row TINYINT NOT NULL DEFAULT 0 PRIMARY KEY,
+    next_val   BIGINT
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO notification_outbox_seq (single_row, next_val)
+SELECT 0, COALESCE(MAX(id), 0) + 50 FROM notification_outbox;
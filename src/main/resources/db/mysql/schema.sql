@@ -0,0 +1,28 @@
+-- Tables added after the original prod schema, matching the OutboxMessage and RevokedToken
+-- mappings that Hibernate validates. Runs on every prod start ahead of id-sequences.sql,
+-- which seeds notification_outbox_seq from this table, and leaves existing tables alone.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id                    BIGINT       NOT NULL PRIMARY KEY,
+    type                  ENUM ('APPOINTMENT_CONFIRMATION', 'APPOINTMENT_REMINDER_24H',
+                                'APPOINTMENT_REMINDER_1H') NOT NULL,
+    recipient_email       VARCHAR(255) NOT NULL,
+    recipient_name        VARCHAR(255) NOT NULL,
+    doctor_name           VARCHAR(255) NOT NULL,
+    appointment_date_time DATETIME(6)  NOT NULL,
+    status                ENUM ('PENDING', 'SENT', 'FAILED') NOT NULL,
+    attempts              INT          NOT NULL,
+    next_attempt_at       DATETIME(6)  NOT NULL,
+    last_error            VARCHAR(500),
+    created_at            DATETIME(6)  NOT NULL,
+    sent_at               DATETIME(6),
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_digest VARCHAR(64) NOT NULL PRIMARY KEY,
+    expires_at   DATETIME(6) NOT NULL,
+    revoked_at   DATETIME(6) NOT NULL,
+    INDEX idx_revoked_tokens_revoked_at (revoked_at),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,65 @@
+package com.clinic.benchmark;
+
+import com.clinic.entity.Address;
+import com.clinic.entity.Appointment;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.Specialty;
+import com.clinic.security.JwtService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Objects shared by the JMH benchmarks, built the same way the unit tests build them.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci11bml0LXRlc3RzLW9ubHktMTIzNDU2Nzg5MA==";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long verifiedCacheSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", verifiedCacheSize);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static Patient patient(Long id) {
+        return Patient.builder()
+                .id(id)
+                .fullNameEn("Bench Patient").fullNameAr("مريض اختبار")
+                .email("bench@test.com").mobileNumber("+96500000000")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .nationalId("BENCH-1")
+                .address(new Address("Street", "City", "Region"))
+                .build();
+    }
+
+    static Doctor doctor(Long id) {
+        return Doctor.builder()
+                .id(id)
+                .nameEn("Dr. Bench").nameAr("د. اختبار")
+                .specialty(Specialty.GENERAL_PRACTICE)
+                .yearsOfExperience(1)
+                .consultationDurationMinutes(30)
+                .build();
+    }
+
+    static Appointment appointment(Long id, Patient patient, Doctor doctor, LocalDateTime dateTime) {
+        return Appointment.builder()
+                .id(id)
+                .patient(patient)
+                .doctor(doctor)
+                .appointmentDateTime(dateTime)
+                .status(AppointmentStatus.SCHEDULED)
+                .reason("Benchmark")
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.clinic.benchmark;
+
+import com.clinic.dto.request.AppointmentRequest;
+import com.clinic.entity.Address;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.Specialty;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingLockMode;
+import com.clinic.service.NotificationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Books non-overlapping slots for a single doctor from 1, 8 and 64 concurrent threads
+ * under each {@link BookingLockMode} and prints throughput and latency percentiles.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=80")
+@ActiveProfiles("test")
+class BookingLockContentionBenchmark {
+
+    private static final int[] BOOKERS = {1, 8, 64};
+    private static final int WARMUP_BOOKERS = 8;
+    private static final int BOOKINGS_PER_BOOKER = 50;
+    private static final int SLOT_MINUTES = 15;
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    @DisplayName("Compare JVM striped locks with the doctor row lock")
+    void compareBookingLockModes() throws Exception {
+        Patient patient = patientRepository.save(Patient.builder()
+                .fullNameEn("Bench Patient").fullNameAr("مريض اختبار")
+                .email("bench@test.com").mobileNumber("+96500000000")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .nationalId("BENCH-1")
+                .address(new Address("Street", "City", "Region")).build());
+
+        System.out.printf("%n%-9s %8s %12s %10s %10s %10s%n",
+                "mode", "bookers", "ops/s", "p50 ms", "p99 ms", "max ms");
+        AppointmentService target = AopTestUtils.getTargetObject(appointmentService);
+        for (BookingLockMode mode : BookingLockMode.values()) {
+            ReflectionTestUtils.setField(target, "bookingLockMode", mode);
+            run(mode, WARMUP_BOOKERS, patient.getId(), false);
+            for (int bookers : BOOKERS) {
+                run(mode, bookers, patient.getId(), true);
+            }
+        }
+    }
+
+    private void run(BookingLockMode mode, int bookers, Long patientId, boolean report)
+            throws Exception {
+        Doctor doctor = doctorRepository.save(Doctor.builder()
+                .nameEn("Dr. Bench " + mode + "-" + bookers).nameAr("د. اختبار")
+                .specialty(Specialty.GENERAL_PRACTICE)
+                .yearsOfExperience(1)
+                .consultationDurationMinutes(SLOT_MINUTES).build());
+        LocalDateTime base = LocalDate.now().plusDays(30).atStartOfDay();
+
+        ExecutorService executor = Executors.newFixedThreadPool(bookers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < bookers; t++) {
+            int booker = t;
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[BOOKINGS_PER_BOOKER];
+                start.await();
+                for (int i = 0; i < BOOKINGS_PER_BOOKER; i++) {
+                    int slot = booker + i * bookers;
+                    AppointmentRequest request = new AppointmentRequest(patientId, doctor.getId(),
+                            base.plusMinutes((long) slot * SLOT_MINUTES), "Benchmark");
+                    long begin = System.nanoTime();
+                    appointmentService.scheduleAppointment(request);
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[bookers * BOOKINGS_PER_BOOKER];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(all.length, offset);
+        if (!report) {
+            return;
+        }
+        Arrays.sort(all);
+        System.out.printf("%-9s %8d %12.0f %10.2f %10.2f %10.2f%n",
+                mode, bookers,
+                all.length / (elapsed / 1e9),
+                millis(all[all.length / 2]),
+                millis(all[(int) (all.length * 0.99)]),
+                millis(all[all.length - 1]));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,105 @@
+package com.clinic.benchmark;
+
+import com.clinic.HealthcareClinicApplication;
+import com.clinic.entity.Appointment;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.clinic.service.AppointmentService;
+import com.clinic.service.BookingLockMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AppointmentService.checkForConflicts} for a doctor with {@code booked} appointments,
+ * on the H2 {@code test} profile. JVM mode answers from the in-memory conflict index;
+ * DATABASE mode runs the overlap query. Both probes find no conflict, so no exception cost
+ * is included: one free slot, and rescheduling an appointment onto its own slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+    @Param({"JVM", "DATABASE"})
+    public BookingLockMode mode;
+
+    @Param({"100", "5000"})
+    public int booked;
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private Method checkForConflicts;
+    private Doctor doctor;
+    private LocalDateTime freeSlot;
+    private Appointment ownSlot;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(HealthcareClinicApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "app.reminders.enabled=false",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+
+        Patient patient = context.getBean(PatientRepository.class).save(BenchmarkFixtures.patient(null));
+        doctor = context.getBean(DoctorRepository.class).save(BenchmarkFixtures.doctor(null));
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+        List<Appointment> appointments = new ArrayList<>(booked);
+        for (int i = 0; i < booked; i++) {
+            appointments.add(BenchmarkFixtures.appointment(null, patient, doctor,
+                    base.plusMinutes(30L * i)));
+        }
+        appointments = context.getBean(AppointmentRepository.class).saveAll(appointments);
+        ownSlot = appointments.get(booked / 2);
+        freeSlot = base.minusDays(1);
+
+        appointmentService = AopTestUtils.getTargetObject(context.getBean(AppointmentService.class));
+        ReflectionTestUtils.setField(appointmentService, "bookingLockMode", mode);
+        checkForConflicts = AppointmentService.class.getDeclaredMethod(
+                "checkForConflicts", Doctor.class, LocalDateTime.class, Long.class);
+        checkForConflicts.setAccessible(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object freeSlot() throws Exception {
+        return checkForConflicts.invoke(appointmentService, doctor, freeSlot, null);
+    }
+
+    @Benchmark
+    public Object rescheduleToSameSlot() throws Exception {
+        return checkForConflicts.invoke(appointmentService, doctor,
+                ownSlot.getAppointmentDateTime(), ownSlot.getId());
+    }
+}
@@ -0,0 +1,95 @@
+package com.clinic.benchmark;
+
+import com.clinic.entity.AppUser;
+import com.clinic.entity.enums.Role;
+import com.clinic.repository.AppUserRepository;
+import com.clinic.security.JwtAuthenticationFilter;
+import com.clinic.security.JwtService;
+import com.clinic.security.TokenBlacklist;
+import com.clinic.security.UserStateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of the bearer token checks: blacklist lookup, claims parse, cached user
+ * state and building the security context. Goes through {@code doFilter}, which adds only
+ * the once-per-request attribute bookkeeping to {@code doFilterInternal}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private final FilterChain chain = (request, response) -> { };
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest revokedRequest;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000);
+        AppUserRepository appUserRepository = mock(AppUserRepository.class);
+        when(appUserRepository.findByUsername("admin")).thenReturn(Optional.of(AppUser.builder()
+                .id(1L).username("admin").role(Role.ADMIN).enabled(true).build()));
+        TokenBlacklist tokenBlacklist = new TokenBlacklist(16);
+        filter = new JwtAuthenticationFilter(jwtService, new UserStateCache(appUserRepository, 60),
+                tokenBlacklist, new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        String valid = jwtService.generateToken(
+                User.withUsername("admin").password("").roles("ADMIN").build());
+        String revoked = jwtService.generateToken(
+                User.withUsername("receptionist").password("").roles("RECEPTIONIST").build());
+        tokenBlacklist.blacklist(revoked, jwtService.extractExpiration(revoked));
+        validRequest = bearer(valid);
+        revokedRequest = bearer(revoked);
+    }
+
+    @Benchmark
+    public Authentication validToken() throws Exception {
+        return filter(validRequest);
+    }
+
+    @Benchmark
+    public Authentication revokedToken() throws Exception {
+        return filter(revokedRequest);
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patients");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
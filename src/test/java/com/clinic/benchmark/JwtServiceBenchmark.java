@@ -0,0 +1,60 @@
+package com.clinic.benchmark;
+
+import com.clinic.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and claim extraction. {@code extractClaim_verified} hits the verified-token
+ * cache as every request after the first does; {@code extractClaim_unverified} runs with the
+ * cache disabled, i.e. a full HMAC check and JSON parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(10_000);
+        uncachedJwtService = BenchmarkFixtures.jwtService(0);
+        user = User.withUsername("admin").password("").roles("ADMIN").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractClaim_verified() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public String extractClaim_unverified() {
+        return uncachedJwtService.extractClaim(token, Claims::getSubject);
+    }
+}
@@ -0,0 +1,77 @@
+package com.clinic.benchmark;
+
+import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.mapper.AppointmentMapper;
+import com.clinic.mapper.PatientMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping for one patient with {@code appointments} appointments, as done
+ * for every row of the patients listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int appointments;
+
+    private final AppointmentMapper appointmentMapper = Mappers.getMapper(AppointmentMapper.class);
+    private final PatientMapper patientMapper = Mappers.getMapper(PatientMapper.class);
+    private Patient patient;
+    private List<AppointmentResponse> appointmentResponses;
+
+    @Setup
+    public void setUp() {
+        patient = BenchmarkFixtures.patient(1L);
+        Doctor doctor = BenchmarkFixtures.doctor(1L);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < appointments; i++) {
+            patient.getAppointments().add(BenchmarkFixtures.appointment(
+                    (long) i, patient, doctor, base.plusMinutes(30L * i)));
+        }
+        appointmentResponses = appointmentMapper.toResponseList(patient.getAppointments());
+    }
+
+    @Benchmark
+    public AppointmentResponse appointmentToResponse() {
+        return appointmentMapper.toResponse(patient.getAppointments().get(0));
+    }
+
+    @Benchmark
+    public List<AppointmentResponse> appointmentsToResponseList() {
+        return appointmentMapper.toResponseList(patient.getAppointments());
+    }
+
+    @Benchmark
+    public PatientWithAppointmentsResponse patientToResponseWithAppointments() {
+        return patientMapper.toResponseWithAppointments(patient);
+    }
+
+    @Benchmark
+    public PatientWithAppointmentsResponse patientWithMappedAppointments() {
+        return patientMapper.toResponseWithAppointments(patient, appointmentResponses);
+    }
+}
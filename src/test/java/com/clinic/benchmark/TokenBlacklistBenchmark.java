@@ -0,0 +1,70 @@
+package com.clinic.benchmark;
+
+import com.clinic.security.TokenBlacklist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blacklist lookups for revoked and live tokens; each lookup hashes the token first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBlacklistBenchmark {
+
+    // Roughly the length of a token issued by JwtService
+    private static final int TOKEN_LENGTH = 180;
+
+    @Param({"1000", "100000"})
+    public int revokedTokens;
+
+    private TokenBlacklist tokenBlacklist;
+    private String revoked;
+    private String live;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        tokenBlacklist = new TokenBlacklist(64);
+        Date expiresAt = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < revokedTokens; i++) {
+            revoked = token(random);
+            tokenBlacklist.blacklist(revoked, expiresAt);
+        }
+        live = token(random);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return tokenBlacklist.isBlacklisted(revoked);
+    }
+
+    @Benchmark
+    public boolean liveToken() {
+        return tokenBlacklist.isBlacklisted(live);
+    }
+
+    private static String token(Random random) {
+        StringBuilder token = new StringBuilder(TOKEN_LENGTH);
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            token.append((char) ('a' + random.nextInt(26)));
+        }
+        return token.toString();
+    }
+}
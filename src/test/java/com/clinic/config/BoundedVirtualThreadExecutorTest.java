@@ -0,0 +1,81 @@
+package com.clinic.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedVirtualThreadExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should run at most max-concurrency tasks and park the rest without blocking the caller")
+    void execute_LimitsConcurrency() throws Exception {
+        BoundedVirtualThreadExecutor executor =
+                new BoundedVirtualThreadExecutor("test-async-", 2, 100, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(10);
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        waitUntil(() -> executor.inFlight() == 2 && executor.queued() == 8);
+        assertEquals(8.0, meterRegistry.get(AsyncConfig.QUEUED_METRIC).gauge().value());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, peak.get());
+        waitUntil(() -> executor.inFlight() == 0);
+    }
+
+    @Test
+    @DisplayName("Should reject and count tasks beyond max-queued")
+    void execute_RejectsWhenQueueFull() throws Exception {
+        BoundedVirtualThreadExecutor executor =
+                new BoundedVirtualThreadExecutor("test-async-", 1, 2, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(blocked);
+        waitUntil(() -> executor.inFlight() == 1);
+        executor.execute(blocked);
+        executor.execute(blocked);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(blocked));
+        assertEquals(1.0, meterRegistry.get(AsyncConfig.REJECTED_METRIC).counter().count());
+        release.countDown();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.clinic.config;
+
+import com.clinic.dto.response.DoctorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+
+    private CaffeineCacheManager manager(CachePolicyProperties.Policy doctors) {
+        // Refreshes and cache maintenance both run here, and only when the test drains them
+        Executor deferred = pendingTasks::add;
+        return CacheConfig.cacheManager(new CachePolicyProperties(Map.of("doctors", doctors)),
+                key -> new DoctorResponse((Long) key, "Dr. " + loads.incrementAndGet(), "د.", "CARDIOLOGY", 10, 30),
+                deferred, nanos::get);
+    }
+
+    private void runPending() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+
+    private static String name(Cache cache, long id) {
+        return cache.get(id, DoctorResponse.class).nameEn();
+    }
+
+    @Test
+    @DisplayName("Should serve a stale doctor while it reloads in the background")
+    void doctors_RefreshAhead() {
+        Cache doctors = manager(new CachePolicyProperties.Policy(
+                DataSize.ofMegabytes(1), Duration.ofHours(1), Duration.ofMinutes(5))).getCache("doctors");
+
+        assertEquals("Dr. 1", name(doctors, 1L));
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        // The read past refresh-after-write gets the cached value and only schedules a reload
+        assertEquals("Dr. 1", name(doctors, 1L));
+        assertEquals(1, loads.get());
+
+        runPending();
+        assertEquals(2, loads.get());
+        assertEquals("Dr. 2", name(doctors, 1L));
+    }
+
+    @Test
+    @DisplayName("Should bound the doctors cache by estimated bytes")
+    void doctors_EvictsByWeight() {
+        CaffeineCache doctors = (CaffeineCache) manager(new CachePolicyProperties.Policy(
+                DataSize.ofKilobytes(4), Duration.ofHours(1), null)).getCache("doctors");
+
+        IntStream.rangeClosed(1, 200).forEach(id -> doctors.get((long) id));
+        runPending();
+        doctors.getNativeCache().cleanUp();
+
+        long entries = doctors.getNativeCache().estimatedSize();
+        assertTrue(entries > 0 && entries < 200, "entries: " + entries);
+        long weight = doctors.getNativeCache().policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(weight <= DataSize.ofKilobytes(4).toBytes(), "weight: " + weight);
+    }
+
+    @Test
+    @DisplayName("Should not create caches that have no policy")
+    void cacheManager_IsStatic() {
+        assertNull(manager(new CachePolicyProperties.Policy(
+                DataSize.ofMegabytes(1), Duration.ofHours(1), null)).getCache("unknown"));
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh interval that is not shorter than the TTL")
+    void policy_RefreshMustPrecedeExpiry() {
+        assertThrows(IllegalArgumentException.class, () -> new CachePolicyProperties.Policy(
+                DataSize.ofMegabytes(1), Duration.ofMinutes(5), Duration.ofMinutes(5)));
+    }
+
+    @Test
+    @DisplayName("Should weigh entries by their content")
+    void weigher_GrowsWithContent() {
+        DoctorResponse shortName = new DoctorResponse(1L, "Dr. A", "د.", "CARDIOLOGY", 10, 30);
+        DoctorResponse longName = new DoctorResponse(1L, "Dr. " + "A".repeat(300), "د.", "CARDIOLOGY", 10, 30);
+
+        assertTrue(CacheEntryWeigher.estimate(longName) >= CacheEntryWeigher.estimate(shortName) + 250);
+        assertTrue(CacheEntryWeigher.estimate(List.of(shortName, longName))
+                > CacheEntryWeigher.estimate(shortName) + CacheEntryWeigher.estimate(longName));
+        assertEquals(0, CacheEntryWeigher.estimate(null));
+    }
+}
@@ -0,0 +1,31 @@
+package com.clinic.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheMetricsTest {
+
+    @Test
+    @DisplayName("Should publish component caches next to the CacheManager caches in Prometheus")
+    void monitor_SameTagKeysAsManagedCaches() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // Tagged the way Boot binds CacheManager caches
+        CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder().recordStats().build(),
+                "doctors", "cache.manager", "cacheManager", "name", "doctors");
+        Cache<String, String> component = Caffeine.newBuilder().recordStats().build();
+
+        CacheMetrics.monitor(registry, component, "user-state");
+        component.get("admin", key -> "state");
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("cache=\"doctors\""));
+        assertTrue(scrape.contains("cache=\"user-state\""), scrape);
+    }
+}
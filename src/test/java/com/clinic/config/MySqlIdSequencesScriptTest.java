@@ -0,0 +1,82 @@
+package com.clinic.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the prod schema and id-table scripts, in the prod order, against H2 in MySQL mode.
+ */
+class MySqlIdSequencesScriptTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:idseq;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        for (String table : new String[]{"appointments", "patients"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY)");
+        }
+    }
+
+    private void runScript() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/mysql/schema.sql"),
+                new ClassPathResource("db/mysql/id-sequences.sql")).execute(dataSource);
+    }
+
+    private long nextVal(String table) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM " + table, Long.class);
+    }
+
+    @Test
+    @DisplayName("Should start each id table one allocation block past the existing rows")
+    void seedsPastExistingIds() {
+        jdbcTemplate.update("INSERT INTO appointments VALUES (1), (7), (1234)");
+        jdbcTemplate.update("INSERT INTO patients VALUES (42)");
+
+        runScript();
+
+        assertEquals(1284, nextVal("appointments_seq"));
+        assertEquals(92, nextVal("patients_seq"));
+        assertEquals(50, nextVal("notification_outbox_seq"));
+    }
+
+    @Test
+    @DisplayName("Should leave id tables that are already in use untouched")
+    void isIdempotent() {
+        runScript();
+        jdbcTemplate.update("UPDATE appointments_seq SET next_val = 500");
+        jdbcTemplate.update("INSERT INTO appointments VALUES (480)");
+
+        runScript();
+
+        assertEquals(500, nextVal("appointments_seq"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments_seq", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should create the outbox and revocation tables once and keep their rows")
+    void createsMissingTables() {
+        runScript();
+        jdbcTemplate.update("INSERT INTO notification_outbox (id, type, recipient_email, recipient_name, "
+                + "doctor_name, appointment_date_time, status, attempts, next_attempt_at, created_at) "
+                + "VALUES (1, 'APPOINTMENT_REMINDER_1H', 'p@test.com', 'P', 'Dr. A', NOW(), 'PENDING', 0, NOW(), NOW())");
+        jdbcTemplate.update("INSERT INTO revoked_tokens VALUES (?, NOW(), NOW())", "a".repeat(64));
+
+        runScript();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens", Integer.class));
+        assertEquals(50, nextVal("notification_outbox_seq"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.clinic.config;
+
+import com.clinic.exception.AppointmentConflictException;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.service.PatientService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PatientService target = mock(PatientService.class);
+    private PatientService patientService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        patientService = factory.getProxy();
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get(ServiceMetricsAspect.METRIC)
+                .tag("service", "PatientService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Should time successful calls per method")
+    void success_Timed() {
+        when(target.getPatientById(1L)).thenReturn(null);
+
+        patientService.getPatientById(1L);
+        patientService.getPatientById(1L);
+
+        assertEquals(2, timer("getPatientById", "success").count());
+    }
+
+    @Test
+    @DisplayName("Should tag missing resources as not_found and rethrow")
+    void notFound_Tagged() {
+        when(target.getPatientById(9L)).thenThrow(new ResourceNotFoundException("Patient", "id", 9L));
+
+        assertThrows(ResourceNotFoundException.class, () -> patientService.getPatientById(9L));
+
+        assertEquals(1, timer("getPatientById", "not_found").count());
+    }
+
+    @Test
+    @DisplayName("Should map booking and concurrency failures to conflict")
+    void outcomeOf_Conflicts() {
+        assertEquals("conflict", ServiceMetricsAspect.outcomeOf(new AppointmentConflictException("taken")));
+        assertEquals("conflict", ServiceMetricsAspect.outcomeOf(new OptimisticLockingFailureException("stale")));
+        assertEquals("error", ServiceMetricsAspect.outcomeOf(new IllegalStateException()));
+    }
+}
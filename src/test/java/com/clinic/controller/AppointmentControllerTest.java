@@ -2,10 +2,15 @@ package com.clinic.controller;
 
 import com.clinic.config.SecurityConfig;
 import com.clinic.dto.request.AppointmentRequest;
+import com.clinic.dto.request.BulkAppointmentRequest;
 import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResult;
 import com.clinic.security.CustomUserDetailsService;
 import com.clinic.security.JwtService;
+import com.clinic.security.RequestRateLimiter;
 import com.clinic.security.TokenBlacklist;
+import com.clinic.security.UserStateCache;
 import com.clinic.service.AppointmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +24,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -41,7 +47,11 @@ class AppointmentControllerTest {
     @MockitoBean
     private CustomUserDetailsService userDetailsService;
     @MockitoBean
+    private UserStateCache userStateCache;
+    @MockitoBean
     private TokenBlacklist tokenBlacklist;
+    @MockitoBean
+    private RequestRateLimiter requestRateLimiter;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -96,4 +106,41 @@ class AppointmentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/appointments/bulk should return per-item results")
+    @WithMockUser(roles = "ADMIN")
+    void scheduleAppointments_Bulk() throws Exception {
+        LocalDateTime futureDate = LocalDateTime.now().plusDays(1);
+        BulkAppointmentRequest request = new BulkAppointmentRequest(List.of(
+                new AppointmentRequest(1L, 1L, futureDate, "Vaccination"),
+                new AppointmentRequest(2L, 1L, futureDate, "Vaccination")));
+
+        AppointmentResponse created = new AppointmentResponse(
+                1L, 1L, "John", 1L, "Dr. Ahmed", futureDate,
+                "SCHEDULED", "Vaccination", LocalDateTime.now());
+        BulkAppointmentResponse response = BulkAppointmentResponse.of(List.of(
+                BulkAppointmentResult.created(0, created),
+                BulkAppointmentResult.failed(1, BulkAppointmentResult.CONFLICT, "overlap")));
+
+        when(appointmentService.scheduleAppointments(any())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/appointments/bulk should return 400 for an empty batch")
+    @WithMockUser(roles = "ADMIN")
+    void scheduleAppointments_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"appointments\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -3,9 +3,12 @@ package com.clinic.controller;
 import com.clinic.config.SecurityConfig;
 import com.clinic.dto.request.LoginRequest;
 import com.clinic.dto.response.AuthResponse;
+import com.clinic.exception.ServiceUnavailableException;
 import com.clinic.security.CustomUserDetailsService;
 import com.clinic.security.JwtService;
+import com.clinic.security.RequestRateLimiter;
 import com.clinic.security.TokenBlacklist;
+import com.clinic.security.UserStateCache;
 import com.clinic.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +19,18 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthController.class)
@@ -37,7 +47,11 @@ class AuthControllerTest {
     @MockitoBean
     private CustomUserDetailsService userDetailsService;
     @MockitoBean
+    private UserStateCache userStateCache;
+    @MockitoBean
     private TokenBlacklist tokenBlacklist;
+    @MockitoBean
+    private RequestRateLimiter requestRateLimiter;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -49,17 +63,37 @@ class AuthControllerTest {
         AuthResponse response = new AuthResponse(
                 "jwt-token", "Bearer", 86400, "admin", "ROLE_ADMIN");
 
-        when(authService.login(any(LoginRequest.class))).thenReturn(response);
+        when(authService.login(any(LoginRequest.class), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(response));
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").value("jwt-token"))
                 .andExpect(jsonPath("$.tokenType").value("Bearer"))
                 .andExpect(jsonPath("$.username").value("admin"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/auth/login should return 503 with Retry-After when saturated")
+    void login_ServiceBusy() throws Exception {
+        LoginRequest request = new LoginRequest("admin", "admin123");
+
+        when(authService.login(any(LoginRequest.class), anyString()))
+                .thenThrow(new ServiceUnavailableException("Login service is busy", 1));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("POST /api/v1/auth/login should return 400 for blank username")
     void login_BlankUsername() throws Exception {
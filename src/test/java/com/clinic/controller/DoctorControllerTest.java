@@ -1,11 +1,18 @@
 package com.clinic.controller;
 
 import com.clinic.config.SecurityConfig;
+import com.clinic.dto.response.DoctorAvailabilityResponse;
 import com.clinic.dto.response.DoctorResponse;
+import com.clinic.dto.response.SlotOptionResponse;
+import com.clinic.entity.enums.Specialty;
 import com.clinic.security.CustomUserDetailsService;
 import com.clinic.security.JwtService;
+import com.clinic.security.RequestRateLimiter;
 import com.clinic.security.TokenBlacklist;
+import com.clinic.security.UserStateCache;
+import com.clinic.service.DoctorAvailabilityService;
 import com.clinic.service.DoctorService;
+import com.clinic.service.SlotSearchService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +21,14 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,11 +42,19 @@ class DoctorControllerTest {
     @MockitoBean
     private DoctorService doctorService;
     @MockitoBean
+    private DoctorAvailabilityService availabilityService;
+    @MockitoBean
+    private SlotSearchService slotSearchService;
+    @MockitoBean
     private JwtService jwtService;
     @MockitoBean
     private CustomUserDetailsService userDetailsService;
     @MockitoBean
+    private UserStateCache userStateCache;
+    @MockitoBean
     private TokenBlacklist tokenBlacklist;
+    @MockitoBean
+    private RequestRateLimiter requestRateLimiter;
 
     @Test
     @DisplayName("GET /api/v1/doctors should return 200 without auth")
@@ -51,6 +70,20 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].nameEn").value("Dr. Ahmed"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/doctors should return 429 with Retry-After when rate limited")
+    void getAllDoctors_RateLimited() throws Exception {
+        when(requestRateLimiter.acquire("/api/v1/doctors", "ip:127.0.0.1"))
+                .thenReturn(2_500_000_000L);
+
+        mockMvc.perform(get("/api/v1/doctors"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        verifyNoInteractions(doctorService);
+    }
+
     @Test
     @DisplayName("GET /api/v1/doctors/{id} should return 200 without auth")
     void getDoctorById_NoAuthRequired() throws Exception {
@@ -77,4 +110,36 @@ class DoctorControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].nameEn").value("Dr. Ahmed"));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/doctors/{id}/availability should return free slots without auth")
+    void getAvailability_NoAuthRequired() throws Exception {
+        LocalDate date = LocalDate.now().plusDays(1);
+        DoctorAvailabilityResponse availability = new DoctorAvailabilityResponse(
+                1L, date, 30, List.of(date.atTime(9, 0), date.atTime(9, 30)));
+
+        when(availabilityService.getAvailability(1L, date)).thenReturn(availability);
+
+        mockMvc.perform(get("/api/v1/doctors/1/availability").param("date", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slotMinutes").value(30))
+                .andExpect(jsonPath("$.availableSlots.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/doctors/specialty/{specialty}/earliest-slots should return options")
+    void getEarliestSlots() throws Exception {
+        LocalDateTime from = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<SlotOptionResponse> options = List.of(new SlotOptionResponse(
+                1L, "Dr. Ahmed", "CARDIOLOGY", from.plusHours(1), 30));
+
+        when(slotSearchService.findEarliestSlots(Specialty.CARDIOLOGY, from, 1))
+                .thenReturn(options);
+
+        mockMvc.perform(get("/api/v1/doctors/specialty/CARDIOLOGY/earliest-slots")
+                        .param("from", from.toString())
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].doctorId").value(1));
+    }
 }
@@ -2,10 +2,18 @@ package com.clinic.controller;
 
 import com.clinic.config.SecurityConfig;
 import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.CursorPagedResponse;
+import com.clinic.dto.response.PatientImportError;
+import com.clinic.dto.response.PatientImportResponse;
 import com.clinic.dto.response.PatientResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.exception.InvalidCursorException;
 import com.clinic.security.CustomUserDetailsService;
 import com.clinic.security.JwtService;
+import com.clinic.security.RequestRateLimiter;
 import com.clinic.security.TokenBlacklist;
+import com.clinic.security.UserStateCache;
+import com.clinic.service.PatientImportService;
 import com.clinic.service.PatientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -17,11 +25,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,11 +50,17 @@ class PatientControllerTest {
     @MockitoBean
     private PatientService patientService;
     @MockitoBean
+    private PatientImportService patientImportService;
+    @MockitoBean
     private JwtService jwtService;
     @MockitoBean
     private CustomUserDetailsService userDetailsService;
     @MockitoBean
+    private UserStateCache userStateCache;
+    @MockitoBean
     private TokenBlacklist tokenBlacklist;
+    @MockitoBean
+    private RequestRateLimiter requestRateLimiter;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -128,4 +148,74 @@ class PatientControllerTest {
         mockMvc.perform(delete("/api/v1/patients/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("GET /api/v1/patients?after= should return a cursor page")
+    @WithMockUser(roles = "ADMIN")
+    void getPatientsAfter_Success() throws Exception {
+        when(patientService.getPatientsWithAppointmentsAfter("", 10, "id", "asc"))
+                .thenReturn(new CursorPagedResponse<>(List.of(), 10, "abc", false));
+
+        mockMvc.perform(get("/api/v1/patients").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next").value("abc"))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/patients?after= should return 400 for an invalid cursor")
+    @WithMockUser(roles = "ADMIN")
+    void getPatientsAfter_InvalidCursor() throws Exception {
+        when(patientService.getPatientsWithAppointmentsAfter("bad", 10, "id", "asc"))
+                .thenThrow(new InvalidCursorException("Invalid pagination cursor"));
+
+        mockMvc.perform(get("/api/v1/patients").param("after", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/patients/export should stream one JSON object per line")
+    @WithMockUser(roles = "ADMIN")
+    void exportPatients_Success() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<PatientWithAppointmentsResponse> sink = invocation.getArgument(0);
+            sink.accept(new PatientWithAppointmentsResponse(1L, "John Doe", "جون دو",
+                    "john@example.com", "+96512345678", LocalDate.of(1990, 5, 15),
+                    "123456789", "123 Main St", "Kuwait City", "Capital", List.of()));
+            sink.accept(new PatientWithAppointmentsResponse(2L, "Jane Doe", "جين دو",
+                    "jane@example.com", "+96512345679", LocalDate.of(1991, 6, 16),
+                    "987654321", "456 Main St", "Kuwait City", "Capital", List.of()));
+            return 2L;
+        }).when(patientService).exportPatientsWithAppointments(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/patients/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1, objectMapper.readTree(lines[0]).get("id").asInt());
+        assertEquals("jane@example.com", objectMapper.readTree(lines[1]).get("email").asText());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/patients/import should return per-row results")
+    @WithMockUser(roles = "ADMIN")
+    void importPatients_Success() throws Exception {
+        when(patientImportService.importPatients(any())).thenReturn(new PatientImportResponse(
+                2, 1, 1, List.of(new PatientImportError(3, "email: Email format is invalid"))));
+
+        mockMvc.perform(post("/api/v1/patients/import")
+                        .contentType("text/csv")
+                        .content("fullNameEn,...\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
 }
@@ -0,0 +1,126 @@
+package com.clinic.init;
+
+import com.clinic.entity.Appointment;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PerfDataSeederTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 10);
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM appointments");
+        jdbcTemplate.update("DELETE FROM patients");
+        jdbcTemplate.update("DELETE FROM doctors");
+    }
+
+    private void seed(int threads, int batchSize, int appointments) {
+        new PerfDataSeeder(doctorRepository, jdbcTemplate, transactionManager,
+                new PerfSeedProperties(3, 200, appointments, FROM, TO, 7, threads, batchSize)).run();
+    }
+
+    private List<Map<String, Object>> snapshot() {
+        return jdbcTemplate.queryForList("""
+                SELECT p.id, p.full_name_en, p.full_name_ar, p.email, p.national_id, p.city,
+                       a.id AS appointment_id, a.appointment_date_time, a.status, a.reason
+                FROM appointments a JOIN patients p ON p.id = a.patient_id
+                ORDER BY a.id""");
+    }
+
+    @Test
+    @DisplayName("Should seed the configured counts on distinct grid slots")
+    void run_SeedsConfiguredCounts() {
+        seed(2, 64, 500);
+
+        assertEquals(3, doctorRepository.count());
+        assertEquals(200, patientRepository.count());
+        assertEquals(500, appointmentRepository.count());
+        assertEquals(500, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT (doctor_id, appointment_date_time)) FROM appointments", Long.class));
+        for (Appointment appointment : appointmentRepository.findAll()) {
+            LocalDateTime at = appointment.getAppointmentDateTime();
+            assertFalse(at.toLocalDate().isBefore(FROM) || at.toLocalDate().isAfter(TO));
+            assertFalse(at.toLocalTime().isBefore(LocalTime.of(8, 0)));
+            assertTrue(at.toLocalTime().isBefore(LocalTime.of(17, 0)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce identical rows regardless of threads and batch size")
+    void run_IsDeterministic() {
+        seed(1, 1000, 300);
+        List<Map<String, Object>> first = snapshot();
+        tearDown();
+
+        seed(3, 17, 300);
+
+        // Doctor ids differ between runs, everything else must match row for row
+        assertEquals(first, snapshot());
+    }
+
+    @Test
+    @DisplayName("Should advance id sequences past the seeded rows")
+    void run_AdvancesSequences() {
+        seed(2, 64, 100);
+
+        // The pooled optimizer hands out the 50 ids ending at the value it reads
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR patients_seq", Long.class) - 49 > 200);
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR appointments_seq", Long.class) - 49 > 100);
+    }
+
+    @Test
+    @DisplayName("Should refuse more appointments than the grid can hold")
+    void run_RejectsOverfullGrid() {
+        // 3 doctors x 10 days x 18 slots
+        assertThrows(IllegalStateException.class, () -> seed(1, 100, 541));
+    }
+
+    @Test
+    @DisplayName("Should skip seeding when patients already exist")
+    void run_SkipsPopulatedDatabase() {
+        seed(1, 100, 10);
+        seed(1, 100, 10);
+
+        assertEquals(3, doctorRepository.count());
+        assertEquals(200, patientRepository.count());
+    }
+}
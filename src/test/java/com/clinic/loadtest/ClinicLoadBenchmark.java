@@ -0,0 +1,271 @@
+package com.clinic.loadtest;
+
+import com.clinic.entity.Address;
+import com.clinic.entity.Appointment;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the Postman collection's front-desk flow against the application on the H2
+ * {@code test} profile: log in, register a patient, schedule an appointment, reschedule it and
+ * list patients. Visits arrive open-model at each rate in {@code load.rates} (visits per
+ * second) for {@code load.stage-seconds}, and per-endpoint throughput and latency percentiles
+ * are printed after every stage. Requests go to the embedded server over loopback.
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=ClinicLoadBenchmark -Dload.rates=10,50,100 -Dload.stage-seconds=30
+ * </pre>
+ *
+ * Per-client rate limiting is switched off so the application itself is measured; login
+ * shedding (503) still applies and shows up in the status counts.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=50",
+        "logging.level.org.hibernate.SQL=WARN"})
+@ActiveProfiles("test")
+class ClinicLoadBenchmark {
+
+    private static final Path COLLECTION = Path.of("Healthcare-Clinic.postman_collection.json");
+    private static final int SEED_BATCH = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.rates:5,10,20}")
+    private double[] rates;
+
+    @Value("${load.stage-seconds:20}")
+    private long stageSeconds;
+
+    @Value("${load.seed:42}")
+    private long seed;
+
+    @Value("${load.seed-patients:1000}")
+    private int seedPatients;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private final AtomicInteger visits = new AtomicInteger();
+    private PostmanCollection.Request login;
+    private PostmanCollection.Request register;
+    private PostmanCollection.Request schedule;
+    private PostmanCollection.Request reschedule;
+    private PostmanCollection.Request list;
+    private List<Long> doctorIds;
+    private LocalDateTime firstSlot;
+    private HttpClient client;
+
+    @Test
+    @DisplayName("Replay the front-desk flow at increasing open-model arrival rates")
+    void replayFrontDeskFlow() throws Exception {
+        PostmanCollection collection = PostmanCollection.load(COLLECTION, objectMapper);
+        login = collection.request("Login");
+        register = collection.request("Register Patient");
+        schedule = collection.request("Schedule Appointment");
+        reschedule = collection.request("Update Appointment");
+        list = collection.request("Get All Patients with Appointments (Paginated)");
+        doctorIds = doctorRepository.findAll().stream().map(Doctor::getId).toList();
+        firstSlot = LocalDate.now().plusDays(1).atStartOfDay();
+        seed();
+
+        try (ExecutorService io = Executors.newVirtualThreadPerTaskExecutor()) {
+            client = HttpClient.newBuilder()
+                    .executor(io)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            OpenModelLoad load = new OpenModelLoad(seed);
+            for (double rate : rates) {
+                Stage stage = new Stage();
+                long begin = System.nanoTime();
+                int arrivals = load.run(rate, Duration.ofSeconds(stageSeconds),
+                        scheduledAt -> visit(stage, scheduledAt));
+                stage.print(rate, arrivals, (System.nanoTime() - begin) / 1e9);
+
+                assertTrue(arrivals > 0);
+                assertEquals(0, stage.count(500), "unexpected server errors");
+            }
+        }
+    }
+
+    private void seed() {
+        List<Patient> patients = new ArrayList<>(SEED_BATCH);
+        List<Appointment> appointments = new ArrayList<>(SEED_BATCH);
+        List<Doctor> doctors = doctorRepository.findAll();
+        LocalDateTime past = LocalDate.now().minusYears(1).atTime(9, 0);
+        for (int i = 0; i < seedPatients; i++) {
+            Patient patient = Patient.builder()
+                    .fullNameEn("Seed Patient " + i).fullNameAr("مريض " + i)
+                    .email("seed" + i + "@load.test").mobileNumber("+96500000000")
+                    .dateOfBirth(LocalDate.of(1980, 1, 1).plusDays(i % 10_000))
+                    .nationalId("SEED-" + i)
+                    .address(new Address("Street", "City", "Region"))
+                    .build();
+            patients.add(patient);
+            // Past visits, so they show in the listing without blocking the slots booked under load
+            appointments.add(Appointment.builder()
+                    .patient(patient)
+                    .doctor(doctors.get(i % doctors.size()))
+                    .appointmentDateTime(past.plusHours(i))
+                    .status(AppointmentStatus.COMPLETED)
+                    .reason("Seed")
+                    .build());
+            if (patients.size() == SEED_BATCH || i == seedPatients - 1) {
+                patientRepository.saveAll(patients);
+                appointmentRepository.saveAll(appointments);
+                patients.clear();
+                appointments.clear();
+            }
+        }
+    }
+
+    private void visit(Stage stage, long scheduledAt) {
+        int n = visits.getAndIncrement();
+        Response loggedIn = send(stage, login, login.path(), login.bodyCopy(), null);
+        if (loggedIn.status() != 200) {
+            stage.visits.record(loggedIn.status(), System.nanoTime() - scheduledAt);
+            return;
+        }
+        String token = loggedIn.body().path("accessToken").asText();
+
+        ObjectNode patient = register.bodyCopy()
+                .put("email", "load" + n + "@example.com")
+                .put("nationalId", "LOAD-" + n);
+        Response registered = send(stage, register, register.path(), patient, token);
+        if (registered.status() != 201) {
+            stage.visits.record(registered.status(), System.nanoTime() - scheduledAt);
+            return;
+        }
+
+        // One hour per slot per doctor, so no two visits ever compete for a slot
+        LocalDateTime slot = firstSlot.plusHours(n / doctorIds.size());
+        ObjectNode appointment = schedule.bodyCopy()
+                .put("patientId", registered.body().path("id").asLong())
+                .put("doctorId", doctorIds.get(n % doctorIds.size()))
+                .put("appointmentDateTime", slot.toString());
+        Response scheduled = send(stage, schedule, schedule.path(), appointment, token);
+        if (scheduled.status() != 201) {
+            stage.visits.record(scheduled.status(), System.nanoTime() - scheduledAt);
+            return;
+        }
+
+        ObjectNode update = reschedule.bodyCopy()
+                .put("appointmentDateTime", slot.plusMinutes(30).toString());
+        Response rescheduled = send(stage, reschedule,
+                reschedule.pathWithId(scheduled.body().path("id").asLong()), update, token);
+        Response listed = send(stage, list, list.path(), null, token);
+        stage.visits.record(rescheduled.status() != 200 ? rescheduled.status() : listed.status(),
+                System.nanoTime() - scheduledAt);
+    }
+
+    private Response send(Stage stage, PostmanCollection.Request request, String path,
+                          ObjectNode body, String token) {
+        HttpRequest.Builder http = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(request.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (token != null) {
+            http.header("Authorization", "Bearer " + token);
+        }
+
+        EndpointStats stats = stage.endpoint(request.endpoint());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(http.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(response.statusCode(), System.nanoTime() - start);
+            return new Response(response.statusCode(), response.body().isEmpty()
+                    ? objectMapper.nullNode() : objectMapper.readTree(response.body()));
+        } catch (IOException ex) {
+            stats.record(EndpointStats.NO_RESPONSE, System.nanoTime() - start);
+            return new Response(EndpointStats.NO_RESPONSE, objectMapper.nullNode());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new Response(EndpointStats.NO_RESPONSE, objectMapper.nullNode());
+        }
+    }
+
+    private record Response(int status, JsonNode body) {
+    }
+
+    private final class Stage {
+
+        private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        private final EndpointStats visits = new EndpointStats();
+
+        private Stage() {
+            // Created up front in flow order; only read concurrently afterwards
+            for (PostmanCollection.Request request : List.of(login, register, schedule, reschedule, list)) {
+                endpoints.put(request.endpoint(), new EndpointStats());
+            }
+        }
+
+        EndpointStats endpoint(String endpoint) {
+            return endpoints.get(endpoint);
+        }
+
+        long count(int status) {
+            return endpoints.values().stream().mapToLong(stats -> stats.count(status)).sum();
+        }
+
+        void print(double rate, int arrivals, double seconds) {
+            System.out.printf("%nrate %.1f visits/s: %d arrivals, %d completed in %.1f s%n",
+                    rate, arrivals, visits.count(200), seconds);
+            System.out.printf("%-28s %7s %7s %8s %9s %9s %9s %9s  %s%n", "endpoint", "count",
+                    "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "statuses");
+            endpoints.forEach((name, stats) -> row(name, stats, seconds));
+            row("visit (from arrival)", visits, seconds);
+        }
+
+        private void row(String name, EndpointStats stats, double seconds) {
+            System.out.printf("%-28s %7d %7d %8.1f %9.2f %9.2f %9.2f %9.2f  %s%n", name,
+                    stats.count(), stats.errors(), stats.count() / seconds,
+                    stats.percentileMillis(50), stats.percentileMillis(90),
+                    stats.percentileMillis(99), stats.maxMillis(), stats.statusSummary());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.clinic.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status-code counts for one endpoint within one load stage. Status
+ * {@code -1} records requests that failed without a response (timeouts, refused connections).
+ */
+final class EndpointStats {
+
+    static final int NO_RESPONSE = -1;
+
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(5), 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+
+    void record(int status, long nanos) {
+        latency.recordValue(Math.min(nanos, latency.getHighestTrackableValue()));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return statuses.entrySet().stream()
+                .filter(e -> e.getKey() < 200 || e.getKey() >= 300)
+                .mapToLong(e -> e.getValue().sum())
+                .sum();
+    }
+
+    long count(int status) {
+        LongAdder count = statuses.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    double maxMillis() {
+        return latency.getMaxValue() / 1e6;
+    }
+
+    String statusSummary() {
+        StringBuilder summary = new StringBuilder();
+        statuses.forEach((status, count) -> summary.append(summary.isEmpty() ? "" : " ")
+                .append(status == NO_RESPONSE ? "io" : status).append('=').append(count.sum()));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.clinic.loadtest;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-model load: visits arrive as a Poisson process at a fixed rate, each on its own virtual
+ * thread, whether or not earlier visits have finished. A slow server therefore builds a
+ * backlog instead of throttling the generator, which is how independent clients behave. Each
+ * visit receives its scheduled arrival time so latency can be measured from when the client
+ * wanted to start rather than from when it got a thread (no coordinated omission).
+ */
+final class OpenModelLoad {
+
+    private final Random random;
+
+    OpenModelLoad(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates arrivals for {@code duration} and returns once every visit has completed.
+     *
+     * @return number of visits started
+     */
+    int run(double arrivalsPerSecond, Duration duration, LongConsumer visit) {
+        int arrivals = 0;
+        try (ExecutorService visitors = Executors.newVirtualThreadPerTaskExecutor()) {
+            long end = System.nanoTime() + duration.toNanos();
+            long next = System.nanoTime();
+            while (true) {
+                next += (long) (-Math.log(1 - random.nextDouble()) / arrivalsPerSecond * 1e9);
+                if (next >= end) {
+                    break;
+                }
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduledAt = next;
+                visitors.execute(() -> visit.accept(scheduledAt));
+                arrivals++;
+            }
+        }
+        return arrivals;
+    }
+}
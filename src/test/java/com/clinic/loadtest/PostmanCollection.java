@@ -0,0 +1,84 @@
+package com.clinic.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Requests read from the Postman collection, so the load test replays the same method, path
+ * and body shapes as the documented API flows. Paths are resolved against the path of the
+ * collection's {@code baseUrl} variable; bodies are returned as copies for the caller to fill
+ * in per-visit values.
+ */
+final class PostmanCollection {
+
+    private final Map<String, Request> requests = new LinkedHashMap<>();
+
+    private PostmanCollection() {
+    }
+
+    static PostmanCollection load(Path file, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(file.toFile());
+        String basePath = "";
+        for (JsonNode variable : root.path("variable")) {
+            if (variable.path("key").asText().equals("baseUrl")) {
+                basePath = URI.create(variable.path("value").asText()).getPath();
+            }
+        }
+        PostmanCollection collection = new PostmanCollection();
+        collection.collect(root.path("item"), basePath, objectMapper);
+        return collection;
+    }
+
+    Request request(String name) {
+        Request request = requests.get(name);
+        if (request == null) {
+            throw new IllegalArgumentException("No request named '" + name + "' in the collection");
+        }
+        return request;
+    }
+
+    private void collect(JsonNode items, String basePath, ObjectMapper objectMapper)
+            throws IOException {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.path("item"), basePath, objectMapper);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            String raw = request.path("body").path("raw").asText("");
+            requests.put(item.path("name").asText(), new Request(
+                    request.path("method").asText(),
+                    request.path("url").path("raw").asText().replace("{{baseUrl}}", basePath),
+                    raw.isBlank() ? null : (ObjectNode) objectMapper.readTree(raw)));
+        }
+    }
+
+    record Request(String method, String path, ObjectNode body) {
+
+        ObjectNode bodyCopy() {
+            return body == null ? null : body.deepCopy();
+        }
+
+        /**
+         * The path with its trailing example id (e.g. {@code /patients/1}) replaced.
+         */
+        String pathWithId(Object id) {
+            return path.substring(0, path.lastIndexOf('/') + 1) + id;
+        }
+
+        /**
+         * Method and path without query string or example ids, used to label results.
+         */
+        String endpoint() {
+            int query = path.indexOf('?');
+            return method + " " + (query < 0 ? path : path.substring(0, query)).replaceAll("/\\d+", "/{id}");
+        }
+    }
+}
@@ -114,4 +114,48 @@ class AppointmentRepositoryTest {
 
         assertTrue(conflicts.isEmpty());
     }
+
+    @Test
+    @DisplayName("Should treat back-to-back appointments as non-conflicting")
+    void findConflictingAppointments_BackToBack() {
+        LocalDateTime appointmentTime = LocalDateTime.now().plusDays(3)
+                .withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        Appointment existing = Appointment.builder()
+                .patient(patient).doctor(doctor)
+                .appointmentDateTime(appointmentTime)
+                .status(AppointmentStatus.SCHEDULED).build();
+        entityManager.persist(existing);
+        entityManager.flush();
+
+        LocalDateTime next = appointmentTime.plusMinutes(30);
+        List<Appointment> conflicts = appointmentRepository
+                .findConflictingAppointments(
+                        doctor.getId(), next.minusMinutes(30), next.plusMinutes(30));
+
+        assertTrue(conflicts.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should load only active slots for the conflict index")
+    void findActiveSlotsByDoctorId() {
+        LocalDateTime appointmentTime = LocalDateTime.now().plusDays(4)
+                .withHour(11).withMinute(0).withSecond(0).withNano(0);
+
+        entityManager.persist(Appointment.builder()
+                .patient(patient).doctor(doctor)
+                .appointmentDateTime(appointmentTime)
+                .status(AppointmentStatus.SCHEDULED).build());
+        entityManager.persist(Appointment.builder()
+                .patient(patient).doctor(doctor)
+                .appointmentDateTime(appointmentTime.plusHours(1))
+                .status(AppointmentStatus.CANCELLED).build());
+        entityManager.flush();
+
+        List<AppointmentRepository.AppointmentSlot> slots = appointmentRepository
+                .findActiveSlotsByDoctorId(doctor.getId(), LocalDateTime.now());
+
+        assertEquals(1, slots.size());
+        assertEquals(appointmentTime, slots.get(0).getAppointmentDateTime());
+    }
 }
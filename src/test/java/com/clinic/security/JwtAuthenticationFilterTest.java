@@ -0,0 +1,104 @@
+package com.clinic.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = new JwtService();
+    private final UserStateCache userStateCache = mock(UserStateCache.class);
+    private final TokenBlacklist tokenBlacklist = new TokenBlacklist(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "jwtSecret",
+                "dGVzdC1zZWNyZXQta2V5LWZvci11bml0LXRlc3RzLW9ubHktMTIzNDU2Nzg5MA==");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3600000L);
+        jwtService.init();
+        filter = new JwtAuthenticationFilter(jwtService, userStateCache, tokenBlacklist, meterRegistry);
+        token = jwtService.generateToken(User.builder()
+                .username("admin").password("p").roles("ADMIN").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    @DisplayName("Should build the principal from the token's subject and role claim")
+    void validToken_Authenticated() throws Exception {
+        when(userStateCache.get("admin")).thenReturn(
+                Optional.of(new UserStateCache.UserState(1L, "ROLE_ADMIN", true)));
+
+        Authentication authentication = authenticate(token);
+
+        assertNotNull(authentication);
+        assertEquals("admin", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.METRIC)
+                .tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of disabled users")
+    void disabledUser_NotAuthenticated() throws Exception {
+        when(userStateCache.get("admin")).thenReturn(
+                Optional.of(new UserStateCache.UserState(1L, "ROLE_ADMIN", false)));
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before a role change")
+    void changedRole_NotAuthenticated() throws Exception {
+        when(userStateCache.get("admin")).thenReturn(
+                Optional.of(new UserStateCache.UserState(1L, "ROLE_RECEPTIONIST", true)));
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of deleted users")
+    void deletedUser_NotAuthenticated() throws Exception {
+        when(userStateCache.get("admin")).thenReturn(Optional.empty());
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Should reject blacklisted tokens before touching user state")
+    void blacklistedToken_NotAuthenticated() throws Exception {
+        tokenBlacklist.blacklist(token, jwtService.extractExpiration(token));
+
+        assertNull(authenticate(token));
+        verifyNoInteractions(userStateCache);
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.METRIC)
+                .tag("outcome", "rejected").timer().count());
+    }
+}
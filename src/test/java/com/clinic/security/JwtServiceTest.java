@@ -1,5 +1,8 @@
 package com.clinic.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -86,4 +89,45 @@ class JwtServiceTest {
 
         assertNotNull(jwtService.extractExpiration(token));
     }
+
+    @Test
+    @DisplayName("Should serve repeat tokens from the verified-claims cache")
+    void parseClaims_CachesVerifiedToken() {
+        UserDetails userDetails = User.builder()
+                .username("testuser").password("password").roles("ADMIN").build();
+        String token = jwtService.generateToken(userDetails);
+
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        assertSame(first, second);
+        assertTrue(jwtService.isTokenValid(first, userDetails));
+        assertEquals("ROLE_ADMIN", first.get("role", String.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void parseClaims_TamperedToken() {
+        UserDetails userDetails = User.builder()
+                .username("testuser").password("password").roles("ADMIN").build();
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(tampered));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void parseClaims_ExpiredToken() throws Exception {
+        Field expirationField = JwtService.class.getDeclaredField("jwtExpirationMs");
+        expirationField.setAccessible(true);
+        expirationField.set(jwtService, -1000L);
+        UserDetails userDetails = User.builder()
+                .username("testuser").password("password").roles("ADMIN").build();
+
+        String token = jwtService.generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseClaims(token));
+    }
 }
@@ -0,0 +1,47 @@
+package com.clinic.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTokenRevocationStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private LocalTokenRevocationStore store() {
+        return new LocalTokenRevocationStore(
+                "jdbc:h2:file:" + dir.resolve("revoked-tokens") + ";AUTO_SERVER=TRUE");
+    }
+
+    @Test
+    @DisplayName("Should share revocations between instances and keep them across a restart")
+    void revocationsAreSharedAndDurable() {
+        LocalTokenRevocationStore nodeA = store();
+        LocalTokenRevocationStore nodeB = store();
+
+        nodeA.revoke("digest-1", LocalDateTime.now().plusHours(1));
+        nodeA.revoke("digest-1", LocalDateTime.now().plusHours(1));
+
+        assertEquals(1, nodeB.findRevokedSince(null).size());
+        assertEquals("digest-1", store().findRevokedSince(null).get(0).tokenDigest());
+        assertTrue(nodeB.findRevokedSince(LocalDateTime.now().plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hide and purge revocations whose tokens have expired")
+    void purgeExpired() {
+        LocalTokenRevocationStore store = store();
+        store.revoke("live", LocalDateTime.now().plusHours(1));
+        store.revoke("expired", LocalDateTime.now().minusSeconds(1));
+
+        assertEquals(1, store.findRevokedSince(null).size());
+        assertEquals(1, store.purgeExpired());
+        assertEquals(0, store.purgeExpired());
+    }
+}
@@ -0,0 +1,69 @@
+package com.clinic.security;
+
+import com.clinic.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 5, 15);
+
+    @Test
+    @DisplayName("Should lock a username regardless of case once the limit is reached")
+    void checkAllowed_UserLockedOut() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("admin", "10.0.0." + i);
+            throttle.recordFailure(i % 2 == 0 ? "admin" : "ADMIN", "10.0.0." + i);
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("Admin", "10.0.0.9"));
+        assertTrue(ex.getRetryAfterSeconds() > 14 * 60);
+        assertDoesNotThrow(() -> throttle.checkAllowed("receptionist", "10.0.0.9"));
+    }
+
+    @Test
+    @DisplayName("Should lock a client IP that fails across many usernames")
+    void checkAllowed_IpLockedOut() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("someone-else", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("someone-else", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Should reset the user's failure count after a successful login")
+    void recordSuccess_ResetsUser() {
+        throttle.recordFailure("admin", "10.0.0.1");
+        throttle.recordFailure("admin", "10.0.0.1");
+        throttle.recordSuccess("admin");
+        throttle.recordFailure("admin", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("admin", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should not lock out a shift of users sharing one NAT address")
+    void checkAllowed_SharedAddress() {
+        LoginThrottle defaults = new LoginThrottle(5, 500, 15);
+        for (int user = 0; user < 100; user++) {
+            for (int typo = 0; typo < 3; typo++) {
+                defaults.recordFailure("staff" + user, "203.0.113.7");
+            }
+        }
+
+        assertDoesNotThrow(() -> defaults.checkAllowed("staff100", "203.0.113.7"));
+        assertDoesNotThrow(() -> defaults.checkAllowed("staff0", "203.0.113.7"));
+    }
+
+    @Test
+    @DisplayName("Should reject an IP limit below the per-user limit")
+    void constructor_RejectsIpLimitBelowUserLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new LoginThrottle(5, 4, 15));
+    }
+}
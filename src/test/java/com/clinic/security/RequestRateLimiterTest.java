@@ -0,0 +1,103 @@
+package com.clinic.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestRateLimiter limiter = new RequestRateLimiter(
+            new RateLimitProperties(true, List.of(
+                    new RateLimitProperties.Group("doctors", List.of("/api/v1/doctors/**"), 3, 1),
+                    new RateLimitProperties.Group("api", List.of("/api/**"), 10, 10))),
+            meterRegistry, clock::get);
+
+    @Test
+    @DisplayName("Should admit a full burst, then refuse until a token refills")
+    void acquire_BurstThenRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("/api/v1/doctors", "ip:10.0.0.1"));
+        }
+
+        assertEquals(SECOND, limiter.acquire("/api/v1/doctors/1", "ip:10.0.0.1"));
+        assertEquals(1, meterRegistry.get("clinic.ratelimit.rejected")
+                .tag("group", "doctors").counter().count());
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.acquire("/api/v1/doctors", "ip:10.0.0.1"));
+        assertTrue(limiter.acquire("/api/v1/doctors", "ip:10.0.0.1") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per route group")
+    void acquire_IsolatedBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("/api/v1/doctors", "ip:10.0.0.1");
+        }
+
+        assertTrue(limiter.acquire("/api/v1/doctors", "ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.acquire("/api/v1/doctors", "ip:10.0.0.2"));
+        assertEquals(0, limiter.acquire("/api/v1/patients", "ip:10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should not limit paths outside every group")
+    void acquire_UnmatchedPath() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire("/swagger-ui/index.html", "ip:10.0.0.1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the burst size under concurrent callers")
+    void acquire_Concurrent() throws Exception {
+        AtomicLong admitted = new AtomicLong();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.acquire("/api/v1/patients", "user:admin") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10, admitted.get());
+    }
+
+    @Test
+    @DisplayName("Should let a shift log in through one shared address with the shipped limits")
+    void acquire_SharedAddressLogins() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        RateLimitProperties shipped = Binder.get(environment)
+                .bind("app.rate-limit", RateLimitProperties.class).get();
+        RequestRateLimiter shippedLimiter = new RequestRateLimiter(shipped, meterRegistry, clock::get);
+
+        // 300 staff behind the clinic's NAT, each logging in once over two minutes
+        for (int user = 0; user < 300; user++) {
+            assertEquals(0, shippedLimiter.acquire("/api/v1/auth/login", "ip:203.0.113.7"), "user " + user);
+            clock.addAndGet(SECOND * 120 / 300);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.clinic.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistTest {
+
+    private final TokenBlacklist blacklist = new TokenBlacklist(1);
+
+    private static Date inMillis(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+
+    @Test
+    @DisplayName("Should report revoked tokens until they expire")
+    void blacklist_RevokesUntilExpiry() throws Exception {
+        blacklist.blacklist("short-lived", inMillis(500));
+        blacklist.blacklist("long-lived", inMillis(60_000));
+
+        assertTrue(blacklist.isBlacklisted("short-lived"));
+        Thread.sleep(700);
+
+        assertFalse(blacklist.isBlacklisted("short-lived"));
+        assertTrue(blacklist.isBlacklisted("long-lived"));
+        assertFalse(blacklist.isBlacklisted("never-revoked"));
+    }
+
+    @Test
+    @DisplayName("Should ignore tokens that have already expired")
+    void blacklist_IgnoresExpiredTokens() {
+        blacklist.blacklist("expired", inMillis(-1000));
+
+        assertFalse(blacklist.isBlacklisted("expired"));
+        assertEquals(0, blacklist.size());
+    }
+
+    @Test
+    @DisplayName("Should record hits and misses")
+    void stats_RecordsLookups() {
+        blacklist.blacklist("revoked", inMillis(60_000));
+
+        blacklist.isBlacklisted("revoked");
+        blacklist.isBlacklisted("other");
+
+        assertEquals(1, blacklist.stats().hitCount());
+        assertEquals(1, blacklist.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should cap entries by memory budget")
+    void blacklist_BoundedByMemoryBudget() {
+        long capacity = 1024 * 1024 / TokenBlacklist.ENTRY_BYTES;
+        for (int i = 0; i < capacity + 1000; i++) {
+            blacklist.blacklist("token-" + i, inMillis(60_000));
+        }
+        blacklist.cleanUp();
+
+        assertTrue(blacklist.size() <= capacity);
+        assertTrue(blacklist.stats().evictionCount() >= 1000);
+    }
+}
@@ -0,0 +1,95 @@
+package com.clinic.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates two instances, each with its own near-cache, sharing one store backed by the
+ * embedded test database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DatabaseTokenRevocationStore.class)
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private DatabaseTokenRevocationStore store;
+
+    private TokenBlacklist nodeABlacklist;
+    private TokenBlacklist nodeBBlacklist;
+    private TokenRevocationService nodeA;
+    private TokenRevocationService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeABlacklist = new TokenBlacklist(1);
+        nodeBBlacklist = new TokenBlacklist(1);
+        nodeA = new TokenRevocationService(store, nodeABlacklist, 30_000);
+        nodeB = new TokenRevocationService(store, nodeBBlacklist, 30_000);
+        nodeA.sync();
+        nodeB.sync();
+    }
+
+    private static Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000L);
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token on the revoking node immediately")
+    void revoke_AppliesLocally() {
+        nodeA.revoke("token-a", inMinutes(5));
+
+        assertTrue(nodeABlacklist.isBlacklisted("token-a"));
+        assertFalse(nodeBBlacklist.isBlacklisted("token-a"));
+    }
+
+    @Test
+    @DisplayName("Should propagate a revocation to other nodes on their next sync")
+    void sync_PropagatesRevocation() {
+        nodeA.revoke("token-b", inMinutes(5));
+
+        nodeB.sync();
+
+        assertTrue(nodeBBlacklist.isBlacklisted("token-b"));
+    }
+
+    @Test
+    @DisplayName("Should load every live revocation on a node's first sync")
+    void sync_LoadsLiveRevocationsOnStartup() {
+        nodeA.revoke("token-c", inMinutes(5));
+        TokenBlacklist restartedBlacklist = new TokenBlacklist(1);
+
+        new TokenRevocationService(store, restartedBlacklist, 30_000).sync();
+
+        assertTrue(restartedBlacklist.isBlacklisted("token-c"));
+    }
+
+    @Test
+    @DisplayName("Should tolerate revoking the same token twice")
+    void revoke_Idempotent() {
+        nodeA.revoke("token-d", inMinutes(5));
+        nodeB.revoke("token-d", inMinutes(5));
+
+        assertEquals(1, store.findRevokedSince(null).size());
+    }
+
+    @Test
+    @DisplayName("Should purge revocations of expired tokens from the store")
+    void purgeExpired_RemovesExpired() {
+        store.revoke("ab".repeat(32), LocalDateTime.now().minusMinutes(1));
+        nodeA.revoke("token-e", inMinutes(5));
+
+        assertEquals(1, store.purgeExpired());
+        assertEquals(1, store.findRevokedSince(null).size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.clinic.security;
+
+import com.clinic.entity.AppUser;
+import com.clinic.entity.enums.Role;
+import com.clinic.repository.AppUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserStateCacheTest {
+
+    private final AppUserRepository appUserRepository = mock(AppUserRepository.class);
+    private final UserStateCache cache = new UserStateCache(appUserRepository, 60);
+
+    private static AppUser user(Role role, boolean enabled) {
+        return AppUser.builder().id(1L).username("admin").password("x")
+                .role(role).enabled(enabled).build();
+    }
+
+    @Test
+    @DisplayName("Should query the user table once per username")
+    void get_CachesState() {
+        when(appUserRepository.findByUsername("admin"))
+                .thenReturn(Optional.of(user(Role.ADMIN, true)));
+
+        cache.get("admin");
+        Optional<UserStateCache.UserState> state = cache.get("admin");
+
+        assertEquals("ROLE_ADMIN", state.orElseThrow().authority());
+        verify(appUserRepository, times(1)).findByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("Should reload state after the user is invalidated")
+    void invalidate_ReloadsState() {
+        when(appUserRepository.findByUsername("admin"))
+                .thenReturn(Optional.of(user(Role.ADMIN, true)))
+                .thenReturn(Optional.of(user(Role.ADMIN, false)));
+
+        assertTrue(cache.get("admin").orElseThrow().enabled());
+        cache.invalidate(1L);
+
+        assertFalse(cache.get("admin").orElseThrow().enabled());
+    }
+
+    @Test
+    @DisplayName("Should remember unknown users until one is created under that name")
+    void get_UnknownUser() {
+        when(appUserRepository.findByUsername("ghost"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(user(Role.RECEPTIONIST, true)));
+
+        assertTrue(cache.get("ghost").isEmpty());
+        assertTrue(cache.get("ghost").isEmpty());
+        verify(appUserRepository, times(1)).findByUsername("ghost");
+
+        cache.invalidate("ghost");
+        assertTrue(cache.get("ghost").isPresent());
+    }
+}
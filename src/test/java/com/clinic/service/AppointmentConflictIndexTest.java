@@ -0,0 +1,166 @@
+package com.clinic.service;
+
+import com.clinic.entity.Doctor;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.AppointmentRepository.AppointmentSlot;
+import com.clinic.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentConflictIndexTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private final MutableClock clock = new MutableClock(
+            LocalDateTime.of(2026, 3, 15, 8, 0).toInstant(ZoneOffset.UTC));
+    private AppointmentConflictIndex conflictIndex;
+    private Doctor doctor;
+    private LocalDateTime nineAm;
+
+    @BeforeEach
+    void setUp() {
+        conflictIndex = new AppointmentConflictIndex(appointmentRepository, Duration.ofMinutes(60), clock);
+        doctor = Doctor.builder()
+                .id(1L).nameEn("Dr. Ahmed").consultationDurationMinutes(30).build();
+        nineAm = LocalDateTime.of(2026, 3, 16, 9, 0);
+    }
+
+    private AppointmentSlot slot(Long id, LocalDateTime start) {
+        return new AppointmentSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDateTime() {
+                return start;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should detect an appointment that starts before the slot and runs into it")
+    void hasConflict_EarlierOverlap() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm.plusMinutes(15), null));
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm.minusMinutes(15), null));
+    }
+
+    @Test
+    @DisplayName("Should load active slots from one consultation before the clock's current time")
+    void load_WindowFollowsClock() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any())).thenReturn(List.of());
+
+        conflictIndex.hasConflict(doctor, nineAm, null);
+
+        verify(appointmentRepository).findActiveSlotsByDoctorId(1L, LocalDateTime.of(2026, 3, 15, 7, 30));
+    }
+
+    @Test
+    @DisplayName("Should allow back-to-back appointments")
+    void hasConflict_BackToBack() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm.plusMinutes(30), null));
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm.minusMinutes(30), null));
+    }
+
+    @Test
+    @DisplayName("Should ignore the appointment being rescheduled")
+    void hasConflict_ExcludesOwnAppointment() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm.plusMinutes(10), 10L));
+    }
+
+    @Test
+    @DisplayName("Should load a doctor's schedule once and serve later checks from memory")
+    void loadsLazilyOnce() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of());
+
+        assertTrue(conflictIndex.tryClaim(doctor, 10L, nineAm));
+        assertFalse(conflictIndex.tryClaim(doctor, 11L, nineAm.plusMinutes(20)));
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm, null));
+
+        verify(appointmentRepository, times(1)).findActiveSlotsByDoctorId(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Should free the slot once released")
+    void release_FreesSlot() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+
+        conflictIndex.release(doctor, 10L, nineAm);
+
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm, null));
+    }
+
+    @Test
+    @DisplayName("Should apply a changed consultation duration without reloading")
+    void hasConflict_FollowsDurationChange() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm.plusMinutes(40), null));
+        doctor.setConsultationDurationMinutes(60);
+
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm.plusMinutes(40), null));
+        verify(appointmentRepository, times(1)).findActiveSlotsByDoctorId(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Should drop idle schedules and reload them on next use")
+    void evictIdle_DropsIdleSchedules() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm, null));
+
+        clock.advance(Duration.ofMinutes(30));
+        conflictIndex.evictIdle();
+        assertEquals(1, conflictIndex.size());
+
+        clock.advance(Duration.ofMinutes(31));
+        conflictIndex.evictIdle();
+        assertEquals(0, conflictIndex.size());
+
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm, null));
+        verify(appointmentRepository, times(2)).findActiveSlotsByDoctorId(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Should trim slots that have already ended")
+    void claim_TrimsEndedSlots() {
+        when(appointmentRepository.findActiveSlotsByDoctorId(eq(1L), any()))
+                .thenReturn(List.of(slot(10L, nineAm)));
+        assertTrue(conflictIndex.hasConflict(doctor, nineAm, null));
+
+        // Appointments are in the future, so only the index itself can still see the ended slot
+        clock.advance(Duration.ofDays(1).plusHours(2));
+        assertTrue(conflictIndex.tryClaim(doctor, 11L, nineAm.plusDays(1)));
+
+        assertFalse(conflictIndex.hasConflict(doctor, nineAm, null));
+    }
+}
@@ -0,0 +1,163 @@
+package com.clinic.service;
+
+import com.clinic.dto.request.AppointmentRequest;
+import com.clinic.dto.request.AppointmentUpdateRequest;
+import com.clinic.dto.response.BulkAppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResult;
+import com.clinic.entity.Address;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.Specialty;
+import com.clinic.mapper.AppointmentMapperImpl;
+import com.clinic.repository.DoctorRepository;
+import com.clinic.repository.PatientRepository;
+import com.clinic.support.SqlCapture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.clinic.support.SqlAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for booking. Runs outside a test transaction so every call commits and
+ * its inserts are actually flushed.
+ */
+@DataJpaTest(properties = SqlCapture.INSPECTOR_PROPERTY)
+@ActiveProfiles("test")
+@Import({AppointmentService.class, NotificationService.class, AppointmentConflictIndex.class,
+        DoctorBookingLocks.class, AppointmentMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentServiceQueryCountTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Patient> patients = new ArrayList<>();
+    private final List<Doctor> doctors = new ArrayList<>();
+    private LocalDateTime nextSlot;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            patients.add(patientRepository.save(Patient.builder()
+                    .fullNameEn("Patient " + i).fullNameAr("مريض " + i)
+                    .email("p" + i + "@test.com").mobileNumber("+96500000000")
+                    .dateOfBirth(LocalDate.of(1990, 1, 1)).nationalId("NID" + i)
+                    .address(new Address("Street", "City", "Region")).build()));
+        }
+        for (int i = 0; i < 3; i++) {
+            doctors.add(doctorRepository.save(Doctor.builder()
+                    .nameEn("Dr. " + i).nameAr("د. " + i).specialty(Specialty.GENERAL_PRACTICE)
+                    .yearsOfExperience(5).consultationDurationMinutes(30).build()));
+        }
+        nextSlot = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        // Loads the doctors' conflict indexes
+        for (Doctor doctor : doctors) {
+            appointmentService.scheduleAppointment(request(patients.get(0), doctor));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM appointments");
+        jdbcTemplate.update("DELETE FROM patients");
+        jdbcTemplate.update("DELETE FROM doctors");
+    }
+
+    private AppointmentRequest request(Patient patient, Doctor doctor) {
+        nextSlot = nextSlot.plusHours(1);
+        return new AppointmentRequest(patient.getId(), doctor.getId(), nextSlot, "Checkup");
+    }
+
+    @Test
+    @DisplayName("scheduleAppointment issues at most 4 statements")
+    void scheduleAppointment_AtMostFourStatements() {
+        SqlCapture sql = assertMaxStatements(4, () ->
+                appointmentService.scheduleAppointment(request(patients.get(1), doctors.get(0))));
+
+        // Patient, doctor, appointment insert and outbox insert; conflicts come from the index
+        assertEquals(2, sql.selects());
+        assertEquals(2, sql.inserts());
+    }
+
+    @Test
+    @DisplayName("updateAppointment issues at most 4 statements")
+    void updateAppointment_AtMostFourStatements() {
+        Long id = appointmentService.scheduleAppointment(request(patients.get(1), doctors.get(0))).id();
+
+        // Appointment, its patient and doctor for the response, then the versioned update
+        assertMaxStatements(4, () -> appointmentService.updateAppointment(id,
+                new AppointmentUpdateRequest(nextSlot.plusHours(2), AppointmentStatus.CONFIRMED, null)));
+    }
+
+    @Test
+    @DisplayName("scheduleAppointments is O(1) in the number of requests")
+    void scheduleAppointments_ConstantStatements() {
+        assertConstantStatements(size -> {
+            BulkAppointmentResponse response = appointmentService.scheduleAppointments(
+                    IntStream.range(0, size)
+                            .mapToObj(i -> request(patients.get(i), doctors.get(i % doctors.size())))
+                            .toList());
+            assertEquals(size, response.created());
+        }, 3, 6, 9);
+    }
+
+    @Test
+    @DisplayName("scheduleAppointments reports a cancelled slot as a conflict and books the rest")
+    void scheduleAppointments_CancelledSlotFailsAlone() {
+        AppointmentRequest first = request(patients.get(1), doctors.get(0));
+        Long cancelledId = appointmentService.scheduleAppointment(first).id();
+        appointmentService.updateAppointment(cancelledId,
+                new AppointmentUpdateRequest(null, AppointmentStatus.CANCELLED, null));
+
+        BulkAppointmentResponse response = appointmentService.scheduleAppointments(List.of(
+                new AppointmentRequest(patients.get(2).getId(), doctors.get(0).getId(),
+                        first.appointmentDateTime(), "Rebook"),
+                request(patients.get(3), doctors.get(0))));
+
+        // The cancelled row still holds uk_doctor_datetime, so only that item fails
+        assertEquals(1, response.created());
+        assertEquals(BulkAppointmentResult.CONFLICT, response.results().get(0).status());
+        assertEquals(BulkAppointmentResult.CREATED, response.results().get(1).status());
+    }
+
+    @Test
+    @DisplayName("getAppointmentsByPatient loads appointments with their doctors in one statement")
+    void getAppointmentsByPatient_SingleStatement() {
+        Patient patient = patients.get(2);
+        for (Doctor doctor : doctors) {
+            appointmentService.scheduleAppointment(request(patient, doctor));
+        }
+
+        SqlCapture sql = assertMaxStatements(1, () ->
+                assertEquals(3, appointmentService.getAppointmentsByPatient(patient.getId()).size()));
+        assertNoStatementMatching("from doctors", sql);
+    }
+}
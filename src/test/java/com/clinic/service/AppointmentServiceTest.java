@@ -3,10 +3,13 @@ package com.clinic.service;
 import com.clinic.dto.request.AppointmentRequest;
 import com.clinic.dto.request.AppointmentUpdateRequest;
 import com.clinic.dto.response.AppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResponse;
+import com.clinic.dto.response.BulkAppointmentResult;
 import com.clinic.entity.Appointment;
 import com.clinic.entity.Doctor;
 import com.clinic.entity.Patient;
 import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.event.AppointmentChangedEvent;
 import com.clinic.exception.AppointmentConflictException;
 import com.clinic.exception.ResourceNotFoundException;
 import com.clinic.mapper.AppointmentMapper;
@@ -19,16 +22,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +49,12 @@ class AppointmentServiceTest {
     private AppointmentMapper appointmentMapper;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private AppointmentConflictIndex conflictIndex;
+    @Spy
+    private DoctorBookingLocks bookingLocks = new DoctorBookingLocks(16);
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -68,15 +79,15 @@ class AppointmentServiceTest {
                 1L, 1L, futureDateTime, "Checkup");
 
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
-        when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
-        when(appointmentRepository.findConflictingAppointments(eq(1L), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(conflictIndex.hasConflict(doctor, futureDateTime, null)).thenReturn(false);
 
         Appointment saved = Appointment.builder()
                 .id(1L).patient(patient).doctor(doctor)
                 .appointmentDateTime(futureDateTime)
                 .status(AppointmentStatus.SCHEDULED).build();
         when(appointmentRepository.save(any())).thenReturn(saved);
+        when(conflictIndex.tryClaim(doctor, 1L, futureDateTime)).thenReturn(true);
 
         AppointmentResponse expectedResponse = new AppointmentResponse(
                 1L, 1L, "John", 1L, "Dr. Ahmed", futureDateTime,
@@ -87,7 +98,7 @@ class AppointmentServiceTest {
 
         assertNotNull(result);
         assertEquals(1L, result.id());
-        verify(notificationService).sendAppointmentConfirmation(
+        verify(notificationService).queueAppointmentConfirmation(
                 any(), any(), any(), any());
     }
 
@@ -97,13 +108,64 @@ class AppointmentServiceTest {
         AppointmentRequest request = new AppointmentRequest(
                 1L, 1L, futureDateTime, "Checkup");
 
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(conflictIndex.hasConflict(doctor, futureDateTime, null)).thenReturn(true);
+
+        assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.scheduleAppointment(request));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should lock the doctor row and check conflicts in SQL in DATABASE mode")
+    void scheduleAppointment_DatabaseLockMode() {
+        ReflectionTestUtils.setField(appointmentService, "bookingLockMode", BookingLockMode.DATABASE);
+        AppointmentRequest request = new AppointmentRequest(
+                1L, 1L, futureDateTime, "Checkup");
+
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
         when(doctorRepository.findByIdWithLock(1L)).thenReturn(Optional.of(doctor));
-        when(appointmentRepository.findConflictingAppointments(eq(1L), any(), any()))
+        when(appointmentRepository.findConflictingAppointments(
+                1L, futureDateTime.minusMinutes(30), futureDateTime.plusMinutes(30)))
                 .thenReturn(List.of(Appointment.builder().id(99L).build()));
 
         assertThrows(AppointmentConflictException.class,
                 () -> appointmentService.scheduleAppointment(request));
+        verify(doctorRepository, never()).findById(any());
+        verifyNoInteractions(conflictIndex);
+    }
+
+    @Test
+    @DisplayName("Should bulk schedule with per-item results and one notification batch")
+    void scheduleAppointments_Bulk() {
+        LocalDateTime second = futureDateTime.plusMinutes(10);
+        List<AppointmentRequest> requests = List.of(
+                new AppointmentRequest(1L, 1L, futureDateTime, "Vaccination"),
+                new AppointmentRequest(1L, 1L, second, "Vaccination"),
+                new AppointmentRequest(1L, 99L, futureDateTime, "Vaccination"));
+
+        when(patientRepository.findAllById(any())).thenReturn(List.of(patient));
+        when(doctorRepository.findAllById(any())).thenReturn(List.of(doctor));
+        when(conflictIndex.hasConflict(doctor, futureDateTime, null)).thenReturn(false);
+        when(conflictIndex.hasConflict(doctor, second, null)).thenReturn(true);
+        when(appointmentRepository.save(any())).thenAnswer(invocation -> {
+            Appointment appointment = invocation.getArgument(0);
+            appointment.setId(10L);
+            return appointment;
+        });
+        when(conflictIndex.tryClaim(doctor, 10L, futureDateTime)).thenReturn(true);
+
+        BulkAppointmentResponse result = appointmentService.scheduleAppointments(requests);
+
+        assertEquals(3, result.requested());
+        assertEquals(1, result.created());
+        assertEquals(BulkAppointmentResult.CREATED, result.results().get(0).status());
+        assertEquals(BulkAppointmentResult.CONFLICT, result.results().get(1).status());
+        assertEquals(BulkAppointmentResult.NOT_FOUND, result.results().get(2).status());
+        verify(appointmentRepository, times(1)).save(any());
+        verify(notificationService).queueAppointmentConfirmations(argThat(list -> list.size() == 1));
+        verify(notificationService, never()).queueAppointmentConfirmation(any(), any(), any(), any());
     }
 
     @Test
@@ -125,7 +187,7 @@ class AppointmentServiceTest {
                 1L, 99L, futureDateTime, "Checkup");
 
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
-        when(doctorRepository.findByIdWithLock(99L)).thenReturn(Optional.empty());
+        when(doctorRepository.findById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
                 () -> appointmentService.scheduleAppointment(request));
@@ -145,8 +207,8 @@ class AppointmentServiceTest {
                 .reason("Original").build();
 
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(appointmentRepository.findConflictingAppointments(eq(1L), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(conflictIndex.hasConflict(doctor, newDateTime, 1L)).thenReturn(false);
+        when(conflictIndex.tryClaim(doctor, 1L, newDateTime)).thenReturn(true);
         when(appointmentRepository.save(any())).thenReturn(existing);
 
         AppointmentResponse expectedResponse = new AppointmentResponse(
@@ -158,6 +220,49 @@ class AppointmentServiceTest {
 
         assertNotNull(result);
         assertEquals("CONFIRMED", result.status());
+        verify(conflictIndex).release(doctor, 1L, futureDateTime);
+    }
+
+    @Test
+    @DisplayName("Should reject reschedule when new slot overlaps another appointment")
+    void updateAppointment_Conflict() {
+        LocalDateTime newDateTime = futureDateTime.plusMinutes(10);
+        AppointmentUpdateRequest updateRequest = new AppointmentUpdateRequest(
+                newDateTime, null, null);
+
+        Appointment existing = Appointment.builder()
+                .id(1L).patient(patient).doctor(doctor)
+                .appointmentDateTime(futureDateTime)
+                .status(AppointmentStatus.SCHEDULED).build();
+
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(conflictIndex.hasConflict(doctor, newDateTime, 1L)).thenReturn(true);
+
+        assertThrows(AppointmentConflictException.class,
+                () -> appointmentService.updateAppointment(1L, updateRequest));
+        verify(conflictIndex, never()).release(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the slot when an appointment is cancelled")
+    void updateAppointment_CancelReleasesSlot() {
+        AppointmentUpdateRequest updateRequest = new AppointmentUpdateRequest(
+                null, AppointmentStatus.CANCELLED, null);
+
+        Appointment existing = Appointment.builder()
+                .id(1L).patient(patient).doctor(doctor)
+                .appointmentDateTime(futureDateTime)
+                .status(AppointmentStatus.SCHEDULED).build();
+
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(appointmentRepository.save(any())).thenReturn(existing);
+
+        appointmentService.updateAppointment(1L, updateRequest);
+
+        verify(conflictIndex).release(doctor, 1L, futureDateTime);
+        verify(conflictIndex, never()).tryClaim(any(), any(), any());
+        verify(eventPublisher).publishEvent(
+                new AppointmentChangedEvent(1L, 1L, 1L, futureDateTime, null));
     }
 
     @Test
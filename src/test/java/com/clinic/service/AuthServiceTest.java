@@ -2,12 +2,20 @@ package com.clinic.service;
 
 import com.clinic.dto.request.LoginRequest;
 import com.clinic.dto.response.AuthResponse;
+import com.clinic.exception.ServiceUnavailableException;
+import com.clinic.exception.TooManyRequestsException;
 import com.clinic.security.JwtService;
-import com.clinic.security.TokenBlacklist;
+import com.clinic.security.LoginExecutor;
+import com.clinic.security.LoginThrottle;
+import com.clinic.security.TokenRevocationService;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,7 +26,11 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,11 +44,24 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
     @Mock
-    private TokenBlacklist tokenBlacklist;
+    private TokenRevocationService tokenRevocationService;
 
-    @InjectMocks
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginExecutor loginExecutor;
     private AuthService authService;
 
+    @BeforeEach
+    void setUp() {
+        loginExecutor = new LoginExecutor(1, 1, meterRegistry);
+        authService = new AuthService(authenticationManager, jwtService, tokenRevocationService,
+                loginExecutor, new LoginThrottle(2, 50, 15), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
     @Test
     @DisplayName("Should login successfully and return token")
     void login_Success() {
@@ -51,12 +76,14 @@ class AuthServiceTest {
         when(jwtService.generateToken(userDetails)).thenReturn("jwt-token");
         when(jwtService.getExpirationMs()).thenReturn(86400000L);
 
-        AuthResponse result = authService.login(request);
+        AuthResponse result = authService.login(request, "10.0.0.1").join();
 
         assertNotNull(result);
         assertEquals("jwt-token", result.accessToken());
         assertEquals("Bearer", result.tokenType());
         assertEquals("admin", result.username());
+        assertEquals(1, meterRegistry.get("clinic.auth.login").tag("outcome", "success")
+                .timer().count());
     }
 
     @Test
@@ -67,19 +94,71 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any()))
                 .thenThrow(new BadCredentialsException("Bad credentials"));
 
-        assertThrows(BadCredentialsException.class,
-                () -> authService.login(request));
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> authService.login(request, "10.0.0.1").join());
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("Should lock a user out after repeated failures without hashing again")
+    void login_ThrottledAfterFailures() {
+        LoginRequest request = new LoginRequest("admin", "wrong");
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<AuthResponse> attempt = authService.login(request, "10.0.0.1");
+            assertThrows(CompletionException.class, attempt::join);
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> authService.login(request, "10.0.0.2"));
+
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        verify(authenticationManager, times(2)).authenticate(any());
+        assertEquals(1, meterRegistry.get("clinic.auth.login").tag("outcome", "throttled")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject logins at once when the verification pool is saturated")
+    void login_RejectedWhenPoolSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        CompletableFuture<AuthResponse> running =
+                authService.login(new LoginRequest("a", "p"), "10.0.0.1");
+        started.await();
+        CompletableFuture<AuthResponse> queued =
+                authService.login(new LoginRequest("b", "p"), "10.0.0.1");
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> authService.login(new LoginRequest("c", "p"), "10.0.0.1"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+
+        release.countDown();
+        assertThrows(CompletionException.class, running::join);
+        assertThrows(CompletionException.class, queued::join);
+        assertEquals(1, meterRegistry.get("clinic.auth.login").tag("outcome", "rejected")
+                .timer().count());
     }
 
     @Test
     @DisplayName("Should blacklist token on logout")
     void logout_Success() {
         String token = "some-jwt-token";
-        when(jwtService.extractUsername(token)).thenReturn("admin");
+        // JWT dates have second precision
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        when(jwtService.parseClaims(token)).thenReturn(
+                Jwts.claims().subject("admin").expiration(expiration).build());
 
         authService.logout("Bearer " + token);
 
-        verify(tokenBlacklist).blacklist(token);
+        verify(tokenRevocationService).revoke(token, expiration);
     }
 
     @Test
@@ -87,6 +166,6 @@ class AuthServiceTest {
     void logout_NullHeader() {
         authService.logout(null);
 
-        verify(tokenBlacklist, never()).blacklist(any());
+        verify(tokenRevocationService, never()).revoke(any(), any());
     }
 }
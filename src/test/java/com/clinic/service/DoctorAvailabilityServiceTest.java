@@ -0,0 +1,216 @@
+package com.clinic.service;
+
+import com.clinic.dto.response.DoctorAvailabilityResponse;
+import com.clinic.entity.Doctor;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.repository.AppointmentRepository.AppointmentSlot;
+import com.clinic.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorAvailabilityServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private DoctorAvailabilityService availabilityService;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = availabilityService(3);
+        date = LocalDate.now().plusDays(1);
+        Doctor doctor = Doctor.builder()
+                .id(1L).nameEn("Dr. Ahmed").consultationDurationMinutes(30).build();
+        lenient().when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+    }
+
+    private DoctorAvailabilityService availabilityService(int loadConcurrency) {
+        return new DoctorAvailabilityService(doctorRepository, appointmentRepository, transactionManager,
+                "09:00", "11:00", Duration.ofMinutes(10), loadConcurrency, nanos::get);
+    }
+
+    private AppointmentSlot slot(LocalDateTime start) {
+        return new AppointmentSlot() {
+            @Override
+            public Long getId() {
+                return 10L;
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDateTime() {
+                return start;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should split the day into consultation-length slots and hide booked ones")
+    void getAvailability_HidesBookedSlots() {
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any()))
+                .thenReturn(List.of(slot(date.atTime(9, 30))));
+
+        DoctorAvailabilityResponse result = availabilityService.getAvailability(1L, date);
+
+        assertEquals(30, result.slotMinutes());
+        assertEquals(List.of(date.atTime(9, 0), date.atTime(10, 0), date.atTime(10, 30)),
+                result.availableSlots());
+    }
+
+    @Test
+    @DisplayName("Should block both slots overlapped by an off-grid appointment")
+    void getAvailability_OffGridAppointment() {
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any()))
+                .thenReturn(List.of(slot(date.atTime(9, 45))));
+
+        DoctorAvailabilityResponse result = availabilityService.getAvailability(1L, date);
+
+        assertEquals(List.of(date.atTime(9, 0), date.atTime(10, 30)), result.availableSlots());
+    }
+
+    @Test
+    @DisplayName("Should patch cached days from appointment events without querying again")
+    void onAppointmentChanged_UpdatesCachedDay() {
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any()))
+                .thenReturn(List.of(slot(date.atTime(9, 30))));
+        availabilityService.getAvailability(1L, date);
+
+        availabilityService.onAppointmentChanged(new AppointmentChangedEvent(
+                10L, 1L, 1L, date.atTime(9, 30), date.atTime(10, 0)));
+        DoctorAvailabilityResponse result = availabilityService.getAvailability(1L, date);
+
+        assertEquals(List.of(date.atTime(9, 0), date.atTime(9, 30), date.atTime(10, 30)),
+                result.availableSlots());
+        verify(appointmentRepository, times(1))
+                .findActiveSlotsByDoctorIdBetween(eq(1L), any(), any());
+        verify(doctorRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should only open a read-only transaction to load a day, not for cached reads")
+    void getAvailability_TransactionOnlyOnLoad() {
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any()))
+                .thenReturn(List.of());
+
+        availabilityService.getAvailability(1L, date);
+        availabilityService.getAvailability(1L, date);
+        availabilityService.getAvailability(1L, date);
+
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("Should throw when doctor does not exist")
+    void getAvailability_DoctorNotFound() {
+        when(doctorRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> availabilityService.getAvailability(99L, date));
+    }
+
+    @Test
+    @DisplayName("Should reload a day once its TTL has passed even if it is read and patched meanwhile")
+    void getAvailability_ReloadsAfterTtl() {
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any()))
+                .thenReturn(List.of());
+
+        for (int minute = 0; minute < 10; minute += 3) {
+            availabilityService.getAvailability(1L, date);
+            availabilityService.onAppointmentChanged(new AppointmentChangedEvent(
+                    20L + minute, 1L, 5L, null, date.atTime(9, 0)));
+            nanos.addAndGet(Duration.ofMinutes(3).toNanos());
+        }
+        availabilityService.getAvailability(1L, date);
+
+        verify(appointmentRepository, times(2)).findActiveSlotsByDoctorIdBetween(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should run at most availability-load-concurrency day loads at once")
+    void getAvailability_BoundsConcurrentLoads() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return List.of();
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(20)) {
+            for (int offset = 0; offset < 20; offset++) {
+                LocalDate day = date.plusDays(offset);
+                executor.submit(() -> availabilityService.getAvailability(1L, day));
+            }
+        }
+
+        verify(appointmentRepository, times(20)).findActiveSlotsByDoctorIdBetween(eq(1L), any(), any());
+        assertTrue(maxInFlight.get() <= 3, "in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Should serve cached days while every load permit is taken")
+    void getAvailability_CachedReadsNotLimited() throws Exception {
+        DoctorAvailabilityService service = availabilityService(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LocalDate cold = date.plusDays(1);
+        when(appointmentRepository.findActiveSlotsByDoctorIdBetween(eq(1L), any(), any())).thenAnswer(invocation -> {
+            if (invocation.<LocalDateTime>getArgument(1).toLocalDate().isAfter(date)) {
+                loading.countDown();
+                release.await();
+            }
+            return List.of();
+        });
+        service.getAvailability(1L, date);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> coldLoad = executor.submit(() -> service.getAvailability(1L, cold));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // The only permit is held by the cold load; a cached day must not wait for it
+            assertFalse(executor.submit(() -> service.getAvailability(1L, date))
+                    .get(5, TimeUnit.SECONDS).availableSlots().isEmpty());
+
+            release.countDown();
+            coldLoad.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
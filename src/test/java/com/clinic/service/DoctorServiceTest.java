@@ -109,4 +109,24 @@ class DoctorServiceTest {
 
         assertEquals(1, result.size());
     }
+
+    @Test
+    @DisplayName("Should reload each doctors cache key from the repository")
+    void reload_DispatchesOnCacheKey() {
+        Doctor doctor = Doctor.builder().id(1L).nameEn("Dr. Ahmed")
+                .specialty(Specialty.CARDIOLOGY).build();
+        DoctorResponse response = new DoctorResponse(
+                1L, "Dr. Ahmed", "د. أحمد", "CARDIOLOGY", 15, 30);
+
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2L)).thenReturn(Optional.empty());
+        when(doctorRepository.findBySpecialty(Specialty.CARDIOLOGY)).thenReturn(List.of(doctor));
+        when(doctorMapper.toResponse(doctor)).thenReturn(response);
+        when(doctorMapper.toResponseList(List.of(doctor))).thenReturn(List.of(response));
+
+        assertEquals(response, doctorService.reload(1L));
+        assertNull(doctorService.reload(2L));
+        assertEquals(List.of(response), doctorService.reload("specialty-CARDIOLOGY"));
+        assertThrows(IllegalArgumentException.class, () -> doctorService.reload("unknown"));
+    }
 }
@@ -0,0 +1,182 @@
+package com.clinic.service;
+
+import com.clinic.entity.OutboxMessage;
+import com.clinic.entity.enums.OutboxStatus;
+import com.clinic.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(NotificationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Set<String> delivered = ConcurrentHashMap.newKeySet();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        sendExecutor.shutdownNow();
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, int maxAttempts) {
+        return dispatcher(batchSize, maxAttempts, message -> {
+            if (failing.contains(message.getRecipientEmail())) {
+                throw new IllegalStateException("mailbox unavailable");
+            }
+            delivered.add(message.getRecipientEmail());
+        });
+    }
+
+    private OutboxDispatcher dispatcher(int batchSize, int maxAttempts, NotificationChannel channel) {
+        return new OutboxDispatcher(outboxRepository, channel, sendExecutor, transactionManager,
+                meterRegistry, batchSize, 300, maxAttempts, 30, 7);
+    }
+
+    private void queue(int count) {
+        notificationService.queueAppointmentConfirmations(IntStream.range(0, count)
+                .mapToObj(i -> new NotificationService.AppointmentConfirmation(
+                        "p" + i + "@test.com", "Patient " + i, "Dr. Ahmed",
+                        LocalDateTime.now().plusDays(1)))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should send one batch per round and mark it sent")
+    void dispatch_SendsOneBatchPerRound() {
+        queue(5);
+        OutboxDispatcher dispatcher = dispatcher(2, 8);
+
+        assertEquals(2, dispatcher.dispatch());
+        assertEquals(2, outboxRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(2, dispatcher.dispatch());
+        assertEquals(1, dispatcher.dispatch());
+        assertEquals(5, delivered.size());
+        assertEquals(5, outboxRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(0, dispatcher(2, 8).dispatch());
+    }
+
+    @Test
+    @DisplayName("Should back off a failed message and leave the rest of the batch sent")
+    void dispatch_RetriesWithBackoff() {
+        queue(3);
+        failing.add("p1@test.com");
+
+        dispatcher(10, 8).dispatch();
+
+        OutboxMessage retry = outboxRepository.findAll().stream()
+                .filter(m -> m.getRecipientEmail().equals("p1@test.com")).findFirst().orElseThrow();
+        assertEquals(OutboxStatus.PENDING, retry.getStatus());
+        assertEquals(1, retry.getAttempts());
+        assertEquals("mailbox unavailable", retry.getLastError());
+        assertTrue(retry.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(2, outboxRepository.countByStatus(OutboxStatus.SENT));
+        // Not due again until the backoff has passed
+        assertEquals(0, dispatcher(10, 8).dispatch());
+    }
+
+    @Test
+    @DisplayName("Should send a batch concurrently and record it once every send has finished")
+    void dispatch_SendsBatchConcurrently() {
+        queue(4);
+        CountDownLatch allStarted = new CountDownLatch(4);
+        NotificationChannel channel = message -> {
+            allStarted.countDown();
+            try {
+                // Only returns if the other sends of the batch are in flight at the same time
+                if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("sent serially");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        };
+
+        assertEquals(4, dispatcher(10, 8, channel).dispatch());
+
+        assertEquals(4, outboxRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    @DisplayName("Should retry messages the saturated executor rejected")
+    void dispatch_RetriesRejectedSends() {
+        queue(2);
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository,
+                message -> delivered.add(message.getRecipientEmail()),
+                task -> {
+                    throw new RejectedExecutionException("queue full");
+                },
+                transactionManager, meterRegistry, 10, 300, 8, 30, 7);
+
+        dispatcher.dispatch();
+
+        assertEquals(0, outboxRepository.countByStatus(OutboxStatus.SENT));
+        assertTrue(outboxRepository.findAll().stream()
+                .allMatch(m -> m.getAttempts() == 1 && "queue full".equals(m.getLastError())));
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void dispatch_FailsAfterMaxAttempts() {
+        queue(1);
+        failing.add("p0@test.com");
+
+        dispatcher(10, 1).dispatch();
+
+        assertEquals(1, outboxRepository.countByStatus(OutboxStatus.FAILED));
+        assertEquals(1.0, meterRegistry.get("clinic.notifications.outbox")
+                .tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not queue anything when the booking transaction rolls back")
+    void queue_RolledBackWithCaller() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            queue(2);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+    }
+}
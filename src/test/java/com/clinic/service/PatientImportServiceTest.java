@@ -0,0 +1,132 @@
+package com.clinic.service;
+
+import com.clinic.config.CachePolicyProperties;
+import com.clinic.dto.response.PatientImportResponse;
+import com.clinic.entity.Address;
+import com.clinic.entity.Patient;
+import com.clinic.exception.InvalidImportException;
+import com.clinic.mapper.PatientMapperImpl;
+import com.clinic.repository.PatientRepository;
+import com.clinic.support.SqlCapture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static com.clinic.support.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = SqlCapture.INSPECTOR_PROPERTY)
+@ActiveProfiles("test")
+@EnableConfigurationProperties(CachePolicyProperties.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({PatientImportService.class, PatientListingCache.class, PatientMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PatientImportServiceTest {
+
+    private static final String HEADER =
+            "fullNameEn,fullNameAr,email,mobileNumber,dateOfBirth,nationalId,street,city,region\n";
+
+    @Autowired
+    private PatientImportService importService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM patients");
+    }
+
+    private PatientImportResponse importCsv(String csv) {
+        return importService.importPatients(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String row(int i) {
+        return "Patient " + i + ",مريض " + i + ",p" + i + "@test.com,+96500000000,1990-01-01,NID"
+                + i + ",Street,City,Region\n";
+    }
+
+    @Test
+    @DisplayName("Should import valid rows in batches with one duplicate query per key and chunk")
+    void importPatients_Success() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 1200; i++) {
+            csv.append(row(i));
+        }
+
+        PatientImportResponse response;
+        try (SqlCapture sql = SqlCapture.start()) {
+            response = importCsv(csv.toString());
+
+            // 3 chunks x 2 duplicate checks and one batched insert, and one sequence call per 50 ids
+            assertEquals(9, sql.touching("patients"));
+            assertEquals(3, sql.inserts());
+            assertMaxStatements(9, sql);
+            assertTrue(sql.sequenceCalls() <= 1200 / 50 + 1, "sequence calls: " + sql.sequenceCalls());
+        }
+
+        assertEquals(1200, response.processed());
+        assertEquals(1200, response.imported());
+        assertEquals(0, response.failed());
+        assertEquals(1200, patientRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should report invalid, malformed and duplicate rows by line number")
+    void importPatients_ReportsRowErrors() {
+        patientRepository.save(Patient.builder()
+                .fullNameEn("Existing").fullNameAr("موجود")
+                .email("p1@test.com").mobileNumber("+96500000000")
+                .dateOfBirth(LocalDate.of(1990, 1, 1)).nationalId("EXISTING")
+                .address(new Address("Street", "City", "Region"))
+                .deleted(true).build());
+
+        String csv = HEADER
+                + row(0)
+                + row(1)
+                + "\"Doe, Jane\",جين,jane@test.com,+96500000000,1990-01-01,NID0,Street,City,Region\n"
+                + "Bad,سيء,not-an-email,+96500000000,1990-01-01,NID9,Street,City,Region\n"
+                + "Bad,سيء,bad@test.com,+96500000000,01/01/1990,NID8,Street,City,Region\n"
+                + "Short,row\n"
+                + "\"Quoted \"\"name\"\"\",اسم,quoted@test.com,+96500000000,1990-01-01,NID7,Street,City,Region\n";
+
+        PatientImportResponse response = importCsv(csv);
+
+        assertEquals(7, response.processed());
+        assertEquals(2, response.imported());
+        assertEquals(5, response.failed());
+        assertEquals(3, response.errors().get(0).line());
+        assertTrue(response.errors().stream().anyMatch(e -> e.line() == 5 && e.error().startsWith("email")));
+        assertTrue(response.errors().stream().anyMatch(e -> e.line() == 6 && e.error().startsWith("dateOfBirth")));
+        assertTrue(response.errors().stream().anyMatch(e -> e.line() == 7));
+        assertTrue(response.errors().stream().anyMatch(e -> e.line() == 4 && e.error().contains("nationalId")));
+        assertTrue(patientRepository.findByEmail("quoted@test.com").isPresent());
+        assertEquals("Quoted \"name\"",
+                patientRepository.findByEmail("quoted@test.com").get().getFullNameEn());
+    }
+
+    @Test
+    @DisplayName("Should reject a file whose header is missing required columns")
+    void importPatients_MissingColumns() {
+        assertThrows(InvalidImportException.class,
+                () -> importCsv("fullNameEn,email\nJohn,john@test.com\n"));
+    }
+}
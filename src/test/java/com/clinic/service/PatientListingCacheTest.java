@@ -0,0 +1,100 @@
+package com.clinic.service;
+
+import com.clinic.config.CachePolicyProperties;
+import com.clinic.dto.response.PagedResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.event.PatientChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientListingCacheTest {
+
+    private final PatientListingCache cache = new PatientListingCache(new CachePolicyProperties(Map.of("patients",
+            new CachePolicyProperties.Policy(DataSize.ofMegabytes(32), Duration.ofMinutes(10), null))));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static PagedResponse<PatientWithAppointmentsResponse> pageOf(Long... ids) {
+        List<PatientWithAppointmentsResponse> content = Arrays.stream(ids)
+                .map(id -> new PatientWithAppointmentsResponse(id, "Patient " + id, "مريض",
+                        "p" + id + "@test.com", "+96500000000", LocalDate.of(1990, 1, 1),
+                        "NID" + id, "Street", "City", "Region", List.of()))
+                .toList();
+        return new PagedResponse<>(content, 0, ids.length, 100, 50, false);
+    }
+
+    private PagedResponse<PatientWithAppointmentsResponse> get(Pageable pageable, Long... ids) {
+        return cache.get(pageable, () -> {
+            loads.incrementAndGet();
+            return pageOf(ids);
+        });
+    }
+
+    @Test
+    @DisplayName("Should key entries on page, size and sort")
+    void get_KeysOnQueryShape() {
+        get(PageRequest.of(0, 2, Sort.by("id")), 1L, 2L);
+        get(PageRequest.of(0, 2, Sort.by("id")), 1L, 2L);
+        get(PageRequest.of(0, 3, Sort.by("id")), 1L, 2L, 3L);
+        get(PageRequest.of(0, 2, Sort.by("email")), 5L, 1L);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict only pages containing the patient whose appointment changed")
+    void onAppointmentChanged_EvictsContainingPages() {
+        Pageable first = PageRequest.of(0, 2, Sort.by("id"));
+        Pageable second = PageRequest.of(1, 2, Sort.by("id"));
+        get(first, 1L, 2L);
+        get(second, 3L, 4L);
+
+        cache.onAppointmentChanged(new AppointmentChangedEvent(10L, 7L, 3L, null, null));
+        get(first, 1L, 2L);
+        get(second, 3L, 4L);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should clear the listing when the set of patients changes")
+    void onPatientChanged_EvictsAll() {
+        get(PageRequest.of(0, 2, Sort.by("id")), 1L, 2L);
+        get(PageRequest.of(1, 2, Sort.by("id")), 3L, 4L);
+
+        cache.onPatientChanged(new PatientChangedEvent(99L));
+        get(PageRequest.of(0, 2, Sort.by("id")), 1L, 2L);
+        get(PageRequest.of(1, 2, Sort.by("id")), 3L, 4L);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a page loaded while an eviction ran")
+    void get_DiscardsPageLoadedDuringEviction() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        cache.get(pageable, () -> {
+            loads.incrementAndGet();
+            cache.evictPatients(List.of(1L));
+            return pageOf(1L, 2L);
+        });
+        assertEquals(0, cache.indexedPatients());
+
+        get(pageable, 1L, 2L);
+
+        assertEquals(2, loads.get());
+    }
+}
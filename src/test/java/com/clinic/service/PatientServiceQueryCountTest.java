@@ -0,0 +1,158 @@
+package com.clinic.service;
+
+import com.clinic.config.CachePolicyProperties;
+import com.clinic.dto.response.CursorPagedResponse;
+import com.clinic.dto.response.PagedResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
+import com.clinic.entity.Address;
+import com.clinic.entity.Appointment;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.Specialty;
+import com.clinic.mapper.AppointmentMapperImpl;
+import com.clinic.mapper.PatientMapperImpl;
+import com.clinic.support.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.clinic.support.SqlAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = SqlCapture.INSPECTOR_PROPERTY)
+@ActiveProfiles("test")
+@EnableConfigurationProperties(CachePolicyProperties.class)
+@Import({PatientService.class, PatientListingCache.class, PatientMapperImpl.class,
+        AppointmentMapperImpl.class})
+class PatientServiceQueryCountTest {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PatientListingCache listingCache;
+
+    @BeforeEach
+    void setUp() {
+        listingCache.evictAll();
+        Doctor cardiologist = entityManager.persist(doctor("Dr. Heart", Specialty.CARDIOLOGY));
+        Doctor dermatologist = entityManager.persist(doctor("Dr. Skin", Specialty.DERMATOLOGY));
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+
+        for (int i = 0; i < 20; i++) {
+            Patient patient = entityManager.persist(Patient.builder()
+                    .fullNameEn("Patient " + i).fullNameAr("مريض " + i)
+                    .email("p" + i + "@test.com").mobileNumber("+96500000000")
+                    .dateOfBirth(LocalDate.of(1990, 1, 1))
+                    .nationalId("NID" + i)
+                    .address(new Address("Street", "City", "Region")).build());
+            entityManager.persist(appointment(patient, cardiologist, base.plusHours(i)));
+            entityManager.persist(appointment(patient, dermatologist, base.plusHours(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Doctor doctor(String name, Specialty specialty) {
+        return Doctor.builder()
+                .nameEn(name).nameAr("د.").specialty(specialty)
+                .yearsOfExperience(5).consultationDurationMinutes(30).build();
+    }
+
+    private Appointment appointment(Patient patient, Doctor doctor, LocalDateTime dateTime) {
+        return Appointment.builder()
+                .patient(patient).doctor(doctor)
+                .appointmentDateTime(dateTime)
+                .status(AppointmentStatus.SCHEDULED).build();
+    }
+
+    private void loadPage(int size) {
+        entityManager.clear();
+        PagedResponse<PatientWithAppointmentsResponse> page = patientService
+                .getAllPatientsWithAppointments(PageRequest.of(0, size, Sort.by("id")));
+        assertEquals(size, page.content().size());
+        page.content().forEach(p -> assertEquals(2, p.appointments().size()));
+    }
+
+    @Test
+    @DisplayName("Should load a page of patients with appointments in three statements")
+    void getAllPatientsWithAppointments_ConstantQueries() {
+        SqlCapture sql = assertMaxStatements(3, () -> loadPage(10));
+        // Patients page, their appointments with doctors, and the total count
+        assertEquals(1, sql.touching("appointments"));
+    }
+
+    @Test
+    @DisplayName("Should not issue more statements for larger pages")
+    void getAllPatientsWithAppointments_IndependentOfPageSize() {
+        assertConstantStatements(this::loadPage, 2, 10, 20);
+    }
+
+    @Test
+    @DisplayName("Should walk every patient once with keyset cursors and no count query")
+    void getPatientsWithAppointmentsAfter_WalksAllPages() {
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            CursorPagedResponse<PatientWithAppointmentsResponse> page;
+            try (SqlCapture sql = SqlCapture.start()) {
+                page = patientService.getPatientsWithAppointmentsAfter(cursor, 3, "fullNameEn", "desc");
+                assertMaxStatements(2, sql);
+                assertNoStatementMatching("count\\(", sql);
+            }
+            page.content().forEach(p -> seen.add(p.fullNameEn()));
+            cursor = page.next();
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>(seen);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(20, seen.size());
+        assertEquals(20, new HashSet<>(seen).size());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    @DisplayName("Should export every patient with appointments from one cursor")
+    void exportPatientsWithAppointments_StreamsAllPatients() {
+        List<PatientWithAppointmentsResponse> exported = new ArrayList<>();
+
+        try (SqlCapture sql = SqlCapture.start()) {
+            long count = patientService.exportPatientsWithAppointments(exported::add);
+
+            assertEquals(20, count);
+            assertMaxStatements(2, sql);
+        }
+        assertEquals(20, exported.size());
+        exported.forEach(p -> assertEquals(2, p.appointments().size()));
+    }
+
+    @Test
+    @DisplayName("Should map doctor and patient details of each appointment")
+    void getAllPatientsWithAppointments_MapsAppointmentDetails() {
+        PagedResponse<PatientWithAppointmentsResponse> page = patientService
+                .getAllPatientsWithAppointments(PageRequest.of(0, 1, Sort.by("id")));
+
+        PatientWithAppointmentsResponse patient = page.content().get(0);
+        assertEquals(patient.id(), patient.appointments().get(0).patientId());
+        assertNotNull(patient.appointments().get(0).doctorName());
+    }
+}
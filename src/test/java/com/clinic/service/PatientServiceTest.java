@@ -1,13 +1,20 @@
 package com.clinic.service;
 
 import com.clinic.dto.request.PatientRegistrationRequest;
+import com.clinic.dto.response.CursorPagedResponse;
 import com.clinic.dto.response.PatientResponse;
+import com.clinic.dto.response.PatientWithAppointmentsResponse;
 import com.clinic.entity.Address;
 import com.clinic.entity.Patient;
+import com.clinic.event.PatientChangedEvent;
 import com.clinic.exception.DuplicateResourceException;
+import com.clinic.exception.InvalidCursorException;
 import com.clinic.exception.ResourceNotFoundException;
+import com.clinic.mapper.AppointmentMapper;
 import com.clinic.mapper.PatientMapper;
+import com.clinic.repository.AppointmentRepository;
 import com.clinic.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,9 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +44,21 @@ class PatientServiceTest {
     @Mock
     private PatientMapper patientMapper;
 
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentMapper appointmentMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PatientListingCache listingCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -137,6 +163,7 @@ class PatientServiceTest {
 
         assertTrue(patient.isDeleted());
         verify(patientRepository).save(patient);
+        verify(eventPublisher).publishEvent(new PatientChangedEvent(1L));
     }
 
     @Test
@@ -147,4 +174,37 @@ class PatientServiceTest {
         assertThrows(ResourceNotFoundException.class,
                 () -> patientService.softDeletePatient(99L));
     }
+
+    @Test
+    @DisplayName("Should reject a malformed keyset cursor")
+    void getPatientsWithAppointmentsAfter_InvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> patientService.getPatientsWithAppointmentsAfter("not-a-cursor", 10, "id", "asc"));
+
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject keyset pagination on an unsupported sort field")
+    void getPatientsWithAppointmentsAfter_UnsupportedSort() {
+        assertThrows(InvalidCursorException.class,
+                () -> patientService.getPatientsWithAppointmentsAfter("", 10, "mobileNumber", "asc"));
+    }
+
+    @Test
+    @DisplayName("Should return a next cursor only when more rows exist")
+    void getPatientsWithAppointmentsAfter_NextCursor() {
+        when(patientRepository.findAllBy(any(), any(), any())).thenReturn(
+                Window.from(List.of(patient), ScrollPosition::offset, true));
+        when(appointmentRepository.findWithDoctorByPatientIdIn(List.of(1L))).thenReturn(List.of());
+
+        CursorPagedResponse<PatientWithAppointmentsResponse> result =
+                patientService.getPatientsWithAppointmentsAfter("", 1, "email", "asc");
+
+        assertFalse(result.last());
+        PatientCursor next = PatientCursor.decode(result.next());
+        assertEquals(PatientCursor.SortKey.EMAIL, next.sortKey());
+        assertEquals("john@example.com", next.value());
+        assertEquals(1L, next.id());
+    }
 }
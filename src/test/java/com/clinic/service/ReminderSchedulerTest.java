@@ -0,0 +1,211 @@
+package com.clinic.service;
+
+import com.clinic.entity.Appointment;
+import com.clinic.entity.Doctor;
+import com.clinic.entity.Patient;
+import com.clinic.entity.enums.AppointmentStatus;
+import com.clinic.entity.enums.NotificationType;
+import com.clinic.event.AppointmentChangedEvent;
+import com.clinic.repository.AppointmentRepository;
+import com.clinic.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 15, 8, 0);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    private final MutableClock clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ReminderScheduler(appointmentRepository, notificationService,
+                new SimpleMeterRegistry(), Duration.ofHours(6), clock);
+    }
+
+    private static AppointmentRepository.AppointmentSlot slot(Long id, LocalDateTime dateTime) {
+        return new AppointmentRepository.AppointmentSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getAppointmentDateTime() {
+                return dateTime;
+            }
+        };
+    }
+
+    private static Appointment appointment(Long id, LocalDateTime dateTime, AppointmentStatus status) {
+        return Appointment.builder().id(id).appointmentDateTime(dateTime).status(status)
+                .patient(Patient.builder().email("p" + id + "@test.com").fullNameEn("Patient " + id).build())
+                .doctor(Doctor.builder().nameEn("Dr. Ahmed").build())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationService.AppointmentReminder> queuedReminders() {
+        ArgumentCaptor<List<NotificationService.AppointmentReminder>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(notificationService).queueAppointmentReminders(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should load the next horizon once per reminder type and fire at the lead time")
+    void loadUpcoming_FiresOneHourReminder() {
+        LocalDateTime at = START.plusHours(3);
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(1), START.plusHours(7)))
+                .thenReturn(List.of(slot(1L, at)));
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(24), START.plusHours(30)))
+                .thenReturn(List.of());
+        when(appointmentRepository.findWithPatientAndDoctorByIdIn(List.of(1L)))
+                .thenReturn(List.of(appointment(1L, at, AppointmentStatus.SCHEDULED)));
+
+        scheduler.loadUpcoming();
+        assertEquals(1, scheduler.pending());
+
+        clock.advance(Duration.ofHours(2).minusSeconds(1));
+        assertEquals(0, scheduler.dispatchDue());
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, scheduler.dispatchDue());
+
+        NotificationService.AppointmentReminder reminder = queuedReminders().get(0);
+        assertEquals(NotificationType.APPOINTMENT_REMINDER_1H, reminder.type());
+        assertEquals("p1@test.com", reminder.patientEmail());
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    @DisplayName("Should only query the newly covered range when the window moves")
+    void loadUpcoming_Incremental() {
+        when(appointmentRepository.findUpcomingSlotsBetween(any(), any())).thenReturn(List.of());
+
+        scheduler.loadUpcoming();
+        clock.advance(Duration.ofMinutes(15));
+        scheduler.loadUpcoming();
+
+        verify(appointmentRepository).findUpcomingSlotsBetween(
+                START.plusHours(7), START.plusHours(7).plusMinutes(15));
+        verify(appointmentRepository).findUpcomingSlotsBetween(
+                START.plusHours(30), START.plusHours(30).plusMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should move reminders when an appointment is rescheduled and drop them on cancel")
+    void onAppointmentChanged_ReschedulesAndCancels() {
+        when(appointmentRepository.findUpcomingSlotsBetween(any(), any())).thenReturn(List.of());
+        scheduler.loadUpcoming();
+
+        scheduler.onAppointmentChanged(new AppointmentChangedEvent(7L, 1L, 1L, null, START.plusHours(3)));
+        assertEquals(1, scheduler.pending());
+        scheduler.onAppointmentChanged(new AppointmentChangedEvent(
+                7L, 1L, 1L, START.plusHours(3), START.plusHours(26)));
+        // 1h reminder now beyond the loaded window; the 24h reminder fires in 2 hours
+        assertEquals(1, scheduler.pending());
+        scheduler.onAppointmentChanged(new AppointmentChangedEvent(
+                7L, 1L, 1L, START.plusHours(26), null));
+        assertEquals(0, scheduler.pending());
+
+        clock.advance(Duration.ofHours(5));
+        assertEquals(0, scheduler.dispatchDue());
+        verify(appointmentRepository, never()).findWithPatientAndDoctorByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should skip reminders for appointments changed outside the application")
+    void dispatchDue_SkipsStaleAppointments() {
+        LocalDateTime at = START.plusHours(2);
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(1), START.plusHours(7)))
+                .thenReturn(List.of(slot(1L, at), slot(2L, at)));
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(24), START.plusHours(30)))
+                .thenReturn(List.of());
+        when(appointmentRepository.findWithPatientAndDoctorByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(appointment(1L, at, AppointmentStatus.CANCELLED),
+                        appointment(2L, at, AppointmentStatus.CONFIRMED)));
+        scheduler.loadUpcoming();
+
+        clock.advance(Duration.ofHours(1));
+
+        assertEquals(1, scheduler.dispatchDue());
+        assertEquals("p2@test.com", queuedReminders().get(0).patientEmail());
+    }
+
+    @Test
+    @DisplayName("Should keep due reminders in the wheel when queueing them fails")
+    void dispatchDue_RequeuesOnFailure() {
+        LocalDateTime at = START.plusHours(2);
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(1), START.plusHours(7)))
+                .thenReturn(List.of(slot(1L, at)));
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(24), START.plusHours(30)))
+                .thenReturn(List.of());
+        when(appointmentRepository.findWithPatientAndDoctorByIdIn(List.of(1L)))
+                .thenReturn(List.of(appointment(1L, at, AppointmentStatus.SCHEDULED)));
+        doThrow(new IllegalStateException("database unavailable")).doNothing()
+                .when(notificationService).queueAppointmentReminders(anyList());
+        scheduler.loadUpcoming();
+
+        clock.advance(Duration.ofHours(1));
+        assertThrows(IllegalStateException.class, scheduler::dispatchDue);
+        assertEquals(1, scheduler.pending());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, scheduler.dispatchDue());
+        assertEquals(0, scheduler.pending());
+        verify(notificationService, times(2)).queueAppointmentReminders(anyList());
+    }
+
+    @Test
+    @DisplayName("Should accept appointment changes while loading and replay them over the query results")
+    void loadUpcoming_ReplaysChangesDuringQuery() {
+        LocalDateTime stale = START.plusHours(3);
+        LocalDateTime moved = START.plusHours(4);
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(1), START.plusHours(7)))
+                .thenAnswer(invocation -> {
+                    // Committed on a request thread while the query runs; must not wait for the load
+                    CompletableFuture.runAsync(() -> scheduler.onAppointmentChanged(
+                            new AppointmentChangedEvent(1L, 1L, 1L, stale, moved))).get(5, TimeUnit.SECONDS);
+                    return List.of(slot(1L, stale));
+                });
+        when(appointmentRepository.findUpcomingSlotsBetween(START.plusHours(24), START.plusHours(30)))
+                .thenReturn(List.of());
+        when(appointmentRepository.findWithPatientAndDoctorByIdIn(List.of(1L)))
+                .thenReturn(List.of(appointment(1L, moved, AppointmentStatus.SCHEDULED)));
+
+        scheduler.loadUpcoming();
+        assertEquals(1, scheduler.pending());
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(0, scheduler.dispatchDue());
+        clock.advance(Duration.ofHours(1));
+        assertEquals(1, scheduler.dispatchDue());
+        assertEquals(moved, queuedReminders().get(0).dateTime());
+    }
+}
@@ -0,0 +1,100 @@
+package com.clinic.service;
+
+import com.clinic.dto.response.DoctorAvailabilityResponse;
+import com.clinic.dto.response.DoctorResponse;
+import com.clinic.dto.response.SlotOptionResponse;
+import com.clinic.entity.enums.Specialty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotSearchServiceTest {
+
+    @Mock
+    private DoctorService doctorService;
+    @Mock
+    private DoctorAvailabilityService availabilityService;
+
+    @InjectMocks
+    private SlotSearchService slotSearchService;
+
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().plusDays(1);
+        when(doctorService.getDoctorsBySpecialty(Specialty.CARDIOLOGY)).thenReturn(List.of(
+                new DoctorResponse(1L, "Dr. Ahmed", "د. أحمد", "CARDIOLOGY", 15, 30),
+                new DoctorResponse(2L, "Dr. Sara", "د. سارة", "CARDIOLOGY", 8, 30)));
+        // Days without explicit stubbing are fully booked
+        lenient().when(availabilityService.getAvailability(any(), any())).thenAnswer(
+                invocation -> free(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    private DoctorAvailabilityResponse free(Long doctorId, LocalDate date, LocalDateTime... slots) {
+        return new DoctorAvailabilityResponse(doctorId, date, 30, List.of(slots));
+    }
+
+    @Test
+    @DisplayName("Should merge doctors' free slots into the earliest N options")
+    void findEarliestSlots_MergesDoctors() {
+        when(availabilityService.getAvailability(1L, day)).thenReturn(
+                free(1L, day, day.atTime(9, 0), day.atTime(11, 0)));
+        when(availabilityService.getAvailability(2L, day)).thenReturn(
+                free(2L, day, day.atTime(8, 30), day.atTime(10, 0)));
+
+        List<SlotOptionResponse> result = slotSearchService.findEarliestSlots(
+                Specialty.CARDIOLOGY, day.atStartOfDay(), 3);
+
+        assertEquals(List.of(day.atTime(8, 30), day.atTime(9, 0), day.atTime(10, 0)),
+                result.stream().map(SlotOptionResponse::slotStart).toList());
+        assertEquals(List.of(2L, 1L, 2L),
+                result.stream().map(SlotOptionResponse::doctorId).toList());
+    }
+
+    @Test
+    @DisplayName("Should stop scanning later days once the top N is settled")
+    void findEarliestSlots_StopsEarly() {
+        when(availabilityService.getAvailability(1L, day)).thenReturn(
+                free(1L, day, day.atTime(9, 0), day.atTime(9, 30)));
+        // Each doctor fills the top 2 on its own, so neither scan depends on the other's timing
+        when(availabilityService.getAvailability(2L, day)).thenReturn(
+                free(2L, day, day.atTime(10, 0), day.atTime(10, 30)));
+
+        List<SlotOptionResponse> result = slotSearchService.findEarliestSlots(
+                Specialty.CARDIOLOGY, day.atStartOfDay(), 2);
+
+        assertEquals(List.of(day.atTime(9, 0), day.atTime(9, 30)),
+                result.stream().map(SlotOptionResponse::slotStart).toList());
+        verify(availabilityService, never()).getAvailability(any(), eq(day.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should skip slots before the requested start time")
+    void findEarliestSlots_RespectsFrom() {
+        when(availabilityService.getAvailability(1L, day)).thenReturn(
+                free(1L, day, day.atTime(9, 0), day.atTime(12, 0)));
+        when(availabilityService.getAvailability(2L, day)).thenReturn(
+                free(2L, day, day.atTime(10, 0)));
+
+        List<SlotOptionResponse> result = slotSearchService.findEarliestSlots(
+                Specialty.CARDIOLOGY, day.atTime(10, 0), 2);
+
+        assertEquals(List.of(day.atTime(10, 0), day.atTime(12, 0)),
+                result.stream().map(SlotOptionResponse::slotStart).toList());
+    }
+}
@@ -0,0 +1,70 @@
+package com.clinic.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire entries once their tick is reached, not before")
+    void advance_FiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 60, START);
+        wheel.schedule(START + 5_000, "five");
+        wheel.schedule(START + 90_000, "ninety");
+
+        assertEquals(List.of(), wheel.advance(START + 4_999));
+        assertEquals(List.of("five"), wheel.advance(START + 5_000));
+        assertEquals(List.of(), wheel.advance(START + 89_000));
+        assertEquals(List.of("ninety"), wheel.advance(START + 90_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade far deadlines down through the upper levels")
+    void advance_CascadesAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1_000, 60, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Up to 30 hours ahead: spans three levels of a 1 s x 60 wheel
+            long deadline = START + 1_000 + random.nextLong(30L * 3_600_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 31L * 3_600_000; now += 60_000) {
+            for (Long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now, "fired early");
+                assertTrue(deadline > now - 61_000, "fired late");
+                fired.add(deadline);
+            }
+        }
+
+        assertEquals(deadlines.stream().sorted().toList(), fired.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should never fire a cancelled entry")
+    void cancel_RemovesEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(1_000, 60, START);
+        TimingWheel.Entry<String> near = wheel.schedule(START + 2_000, "near");
+        TimingWheel.Entry<String> far = wheel.schedule(START + 7_200_000, "far");
+        wheel.schedule(START + 2_000, "kept");
+
+        assertTrue(wheel.cancel(near));
+        assertTrue(wheel.cancel(far));
+        assertFalse(wheel.cancel(far));
+
+        assertEquals(List.of("kept"), wheel.advance(START + 8_000_000));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.clinic.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query-count and SQL-shape assertions over a {@link SqlCapture}. Failure messages list the
+ * captured statements so an added N+1 query shows up directly in the test report.
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static void assertStatementCount(int expected, SqlCapture capture) {
+        assertEquals(expected, capture.count(), () -> "Expected " + expected + " statements, got " + capture);
+    }
+
+    public static void assertMaxStatements(int max, SqlCapture capture) {
+        assertTrue(capture.count() <= max, () -> "Expected at most " + max + " statements, got " + capture);
+    }
+
+    public static SqlCapture assertMaxStatements(int max, Runnable call) {
+        SqlCapture capture = SqlCapture.of(call);
+        assertMaxStatements(max, capture);
+        return capture;
+    }
+
+    public static void assertMaxSelects(int max, SqlCapture capture) {
+        assertTrue(capture.selects() <= max, () -> "Expected at most " + max + " selects, got " + capture);
+    }
+
+    /**
+     * Fails if any captured statement matches {@code regex} (case-insensitive), e.g.
+     * {@code "count\\("} for a listing that must not run a count query.
+     */
+    public static void assertNoStatementMatching(String regex, SqlCapture capture) {
+        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        capture.statements().stream()
+                .filter(sql -> pattern.matcher(sql).find())
+                .findFirst()
+                .ifPresent(sql -> fail("Unexpected statement matching '" + regex + "': " + sql
+                        + System.lineSeparator() + capture));
+    }
+
+    /**
+     * Asserts the statement count of {@code call} does not depend on its input size, i.e. the
+     * call is O(1) in queries. Each size runs in its own capture, in the order given.
+     */
+    public static void assertConstantStatements(IntConsumer call, int... sizes) {
+        Map<Integer, SqlCapture> captures = new LinkedHashMap<>();
+        for (int size : sizes) {
+            captures.put(size, SqlCapture.of(() -> call.accept(size)));
+        }
+        long distinct = captures.values().stream().mapToInt(SqlCapture::count).distinct().count();
+        if (distinct > 1) {
+            StringBuilder message = new StringBuilder("Statement count grows with size:");
+            captures.forEach((size, capture) -> message.append(System.lineSeparator())
+                    .append("size ").append(size).append(": ").append(capture));
+            fail(message.toString());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.clinic.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements Hibernate prepared on the current thread while the capture was open. A
+ * JDBC batch is prepared once, so it counts as one statement however many rows it carries;
+ * plain {@code JdbcTemplate} calls bypass Hibernate and are not seen. Id sequence calls are
+ * counted separately in {@link #sequenceCalls()}: the pooled optimizer makes one per block of
+ * ids, so whether a call lands in the window depends on what earlier tests allocated.
+ *
+ * <pre>{@code
+ * @DataJpaTest(properties = SqlCapture.INSPECTOR_PROPERTY)
+ * ...
+ * SqlCapture sql = SqlCapture.of(() -> service.call());
+ * SqlAssertions.assertMaxStatements(4, sql);
+ * }</pre>
+ */
+public final class SqlCapture implements AutoCloseable {
+
+    public static final String INSPECTOR_PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + "com.clinic.support.SqlStatementInspector";
+
+    private static final ThreadLocal<SqlCapture> CURRENT = new ThreadLocal<>();
+    private static final Pattern SEQUENCE_CALL = Pattern.compile(
+            "^\\s*(select|call|values)\\s+next\\s+value\\s+for\\s", Pattern.CASE_INSENSITIVE);
+
+    private final List<String> statements = new ArrayList<>();
+    private int sequenceCalls;
+
+    private SqlCapture() {
+    }
+
+    public static SqlCapture start() {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("A SQL capture is already open on this thread");
+        }
+        SqlCapture capture = new SqlCapture();
+        CURRENT.set(capture);
+        return capture;
+    }
+
+    /**
+     * Runs {@code call} with a capture open and returns what it recorded.
+     */
+    public static SqlCapture of(Runnable call) {
+        try (SqlCapture capture = start()) {
+            call.run();
+            return capture;
+        }
+    }
+
+    static void record(String sql) {
+        SqlCapture capture = CURRENT.get();
+        if (capture == null) {
+            return;
+        }
+        if (SEQUENCE_CALL.matcher(sql).lookingAt()) {
+            capture.sequenceCalls++;
+        } else {
+            capture.statements.add(sql);
+        }
+    }
+
+    public List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public int sequenceCalls() {
+        return sequenceCalls;
+    }
+
+    public int selects() {
+        return countStartingWith("select");
+    }
+
+    public int inserts() {
+        return countStartingWith("insert");
+    }
+
+    public int updates() {
+        return countStartingWith("update");
+    }
+
+    public int deletes() {
+        return countStartingWith("delete");
+    }
+
+    /**
+     * Statements that mention {@code table}, e.g. {@code "appointments"}.
+     */
+    public int touching(String table) {
+        String name = " " + table.toLowerCase(Locale.ROOT) + " ";
+        return (int) statements.stream()
+                .filter(sql -> (" " + sql.toLowerCase(Locale.ROOT).replaceAll("[(),]", " ") + " ").contains(name))
+                .count();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(count() + " statement(s)");
+        for (int i = 0; i < statements.size(); i++) {
+            text.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        return text.toString();
+    }
+
+    private int countStartingWith(String keyword) {
+        return (int) statements.stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, keyword, 0, keyword.length()))
+                .count();
+    }
+}
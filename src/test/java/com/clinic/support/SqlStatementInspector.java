@@ -0,0 +1,16 @@
+package com.clinic.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every statement Hibernate prepares to the {@link SqlCapture} open on the calling
+ * thread. Enabled per test through {@link SqlCapture#INSPECTOR_PROPERTY}.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlCapture.record(sql);
+        return sql;
+    }
+}